@@ -0,0 +1,110 @@
+package ma.startup.platform.investorservice.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.repository.ConnectionRequestRepository;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Moves terminal rows out of the hot tables into the monthly-partitioned archive (V5):
+ * REJECTED connection requests by created_at, REJECTED / CANCELLED / COMPLETED meetings
+ * by meeting_date, once they are older than the retention window.
+ *
+ * Each batch is a single DELETE ... RETURNING / INSERT in its own transaction; candidates
+ * are locked with SKIP LOCKED so the job never waits on (or blocks) a user's update and
+ * several instances can run it at the same time.
+ */
+@Component
+@EnableConfigurationProperties(ArchiveProperties.class)
+@Slf4j
+public class ArchivalJob {
+
+    private final ConnectionRequestRepository connectionRequestRepository;
+    private final MeetingRepository meetingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveProperties properties;
+    private final Counter archivedConnections;
+    private final Counter archivedMeetings;
+
+    public ArchivalJob(ConnectionRequestRepository connectionRequestRepository,
+                       MeetingRepository meetingRepository,
+                       JdbcTemplate jdbcTemplate,
+                       ArchiveProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.connectionRequestRepository = connectionRequestRepository;
+        this.meetingRepository = meetingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.archivedConnections = Counter.builder("investor.archive.rows")
+                .tag("table", "connection_requests")
+                .register(meterRegistry);
+        this.archivedMeetings = Counter.builder("investor.archive.rows")
+                .tag("table", "meetings")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${investor.archive.cron:0 30 3 * * *}")
+    public void archive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        try {
+            int connections = archiveConnections(cutoff);
+            int meetings = archiveMeetings(cutoff);
+            log.info("Archived {} connection requests and {} meetings older than {}", connections, meetings, cutoff);
+        } catch (Exception e) {
+            log.warn("Archival run failed: {}", e.getMessage());
+        }
+    }
+
+    int archiveConnections(LocalDateTime cutoff) {
+        LocalDateTime oldest = connectionRequestRepository.findOldestRejectedBefore(cutoff);
+        if (oldest == null) {
+            return 0;
+        }
+        ensureMonthlyPartitions("connection_requests_archive", oldest, cutoff);
+        return moveInBatches(batchSize -> connectionRequestRepository.archiveRejectedBefore(cutoff, batchSize),
+                archivedConnections);
+    }
+
+    int archiveMeetings(LocalDateTime cutoff) {
+        LocalDateTime oldest = meetingRepository.findOldestClosedBefore(cutoff);
+        if (oldest == null) {
+            return 0;
+        }
+        ensureMonthlyPartitions("meetings_archive", oldest, cutoff);
+        return moveInBatches(batchSize -> meetingRepository.archiveClosedBefore(cutoff, batchSize),
+                archivedMeetings);
+    }
+
+    // stops at the first short batch: rows skipped because they were locked are taken next run
+    private int moveInBatches(IntUnaryOperator moveBatch, Counter counter) {
+        int total = 0;
+        int moved;
+        do {
+            moved = moveBatch.applyAsInt(properties.getBatchSize());
+            counter.increment(moved);
+            total += moved;
+        } while (moved == properties.getBatchSize());
+        return total;
+    }
+
+    // one partition per month in [from, to], created before any row of that month is moved;
+    // ensure_archive_partition (V11) names it, and serializes creation across instances
+    void ensureMonthlyPartitions(String table, LocalDateTime from, LocalDateTime to) {
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            jdbcTemplate.queryForList("SELECT investor_schema.ensure_archive_partition(?, ?)",
+                    table, month.atDay(1));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ma.startup.platform.investorservice.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Archival of terminal connection requests and meetings (ArchivalJob)
+ */
+@Data
+@ConfigurationProperties(prefix = "investor.archive")
+public class ArchiveProperties {
+
+    private boolean enabled = true;
+
+    /** Terminal rows older than this (created_at / meeting_date) leave the hot tables */
+    private Duration retention = Duration.ofDays(180);
+
+    /** Rows moved per transaction */
+    private int batchSize = 1000;
+}
@@ -0,0 +1,84 @@
+package ma.startup.platform.investorservice.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Moves ACCEPTED meetings to COMPLETED once meeting_date + duration has passed, so they
+ * leave the upcoming lists and become archival candidates (ArchivalJob).
+ *
+ * Each batch is one UPDATE over rows picked with FOR UPDATE SKIP LOCKED, in its own
+ * transaction: the job never waits on a user's cancel and several instances can run it.
+ * Reports investor.meetings.completed (throughput) and the completion lag, i.e. how long
+ * the oldest meeting still ACCEPTED has been over.
+ */
+@Component
+@EnableConfigurationProperties(MeetingCompletionProperties.class)
+@Slf4j
+public class MeetingCompletionJob {
+
+    private final MeetingRepository meetingRepository;
+    private final MeetingCompletionProperties properties;
+    private final Counter completed;
+    private final Timer runs;
+    private volatile long lagSeconds;
+
+    public MeetingCompletionJob(MeetingRepository meetingRepository,
+                                MeetingCompletionProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.meetingRepository = meetingRepository;
+        this.properties = properties;
+        this.completed = Counter.builder("investor.meetings.completed")
+                .register(meterRegistry);
+        this.runs = Timer.builder("investor.meetings.completion.duration")
+                .register(meterRegistry);
+        Gauge.builder("investor.meetings.completion.lag.seconds", this, job -> job.lagSeconds)
+                .description("How long the oldest meeting still ACCEPTED has been over")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${investor.meeting-completion.interval:1m}",
+            initialDelayString = "${investor.meeting-completion.initial-delay:30s}")
+    public void complete() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            int meetings = runs.record(() -> completeEndedBy(LocalDateTime.now()));
+            if (meetings > 0) {
+                log.info("Completed {} meetings (lag {}s)", meetings, lagSeconds);
+            }
+        } catch (Exception e) {
+            log.warn("Meeting completion run failed: {}", e.getMessage());
+        }
+    }
+
+    // stops at the first short batch: rows skipped because they were locked are taken next run
+    int completeEndedBy(LocalDateTime now) {
+        int total = 0;
+        int batch;
+        do {
+            batch = meetingRepository.completeEndedBy(now, properties.getBatchSize());
+            completed.increment(batch);
+            total += batch;
+        } while (batch == properties.getBatchSize());
+
+        LocalDateTime oldest = meetingRepository.findOldestEndedAcceptedBy(now);
+        lagSeconds = oldest == null ? 0 : Duration.between(oldest, now).toSeconds();
+        return total;
+    }
+
+    long lagSeconds() {
+        return lagSeconds;
+    }
+}
@@ -0,0 +1,17 @@
+package ma.startup.platform.investorservice.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Auto-completion of ACCEPTED meetings once they are over (MeetingCompletionJob)
+ */
+@Data
+@ConfigurationProperties(prefix = "investor.meeting-completion")
+public class MeetingCompletionProperties {
+
+    private boolean enabled = true;
+
+    /** Meetings completed per UPDATE (and per transaction) */
+    private int batchSize = 500;
+}
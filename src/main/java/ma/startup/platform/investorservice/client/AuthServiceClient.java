@@ -1,5 +1,7 @@
 package ma.startup.platform.investorservice.client;
 
+import ma.startup.platform.investorservice.client.fallback.AuthServiceClientFallbackFactory;
+import ma.startup.platform.investorservice.client.fallback.FailClosed;
 import ma.startup.platform.investorservice.dto.UserDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,7 +10,8 @@ import org.springframework.web.bind.annotation.RequestHeader;
 
 import java.util.UUID;
 
-@FeignClient(name = "auth-service", url = "${auth.service.url}")
+@FailClosed
+@FeignClient(name = "auth-service", url = "${auth.service.url}", fallbackFactory = AuthServiceClientFallbackFactory.class)
 public interface AuthServiceClient {
 
     @GetMapping("/api/users/{id}")
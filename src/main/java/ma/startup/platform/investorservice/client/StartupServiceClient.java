@@ -1,9 +1,12 @@
 package ma.startup.platform.investorservice.client;
 
+import ma.startup.platform.investorservice.client.fallback.StartupServiceClientFallbackFactory;
 import ma.startup.platform.investorservice.dto.FounderMemberDTO;
 import ma.startup.platform.investorservice.dto.MilestoneDTO;
 import ma.startup.platform.investorservice.dto.StartupDTO;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -12,7 +15,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import java.util.List;
 import java.util.UUID;
 
-@FeignClient(name = "startup-service", url = "${startup.service.url}")
+@FeignClient(name = "startup-service", url = "${startup.service.url}", fallbackFactory = StartupServiceClientFallbackFactory.class)
 public interface StartupServiceClient {
 
     @GetMapping("/api/startups/{id}")
@@ -41,5 +44,14 @@ public interface StartupServiceClient {
             @RequestHeader("Authorization") String token
     );
 
+    // Incremental catalog pull for the local replica (304 when nothing changed)
+    @GetMapping("/api/startups/changes")
+    ResponseEntity<List<StartupDTO>> getStartupsChangedSince(
+            @RequestParam("since") String since,
+            @RequestHeader("Authorization") String token,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince
+    );
+
 
 }
\ No newline at end of file
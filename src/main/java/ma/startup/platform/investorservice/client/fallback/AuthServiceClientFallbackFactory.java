@@ -0,0 +1,35 @@
+package ma.startup.platform.investorservice.client.fallback;
+
+import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.dto.UserDTO;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Fail-closed fallback: rethrows the original failure (auth-service error, timeout, open
+ * circuit, full bulkhead), so an identity is never served from a cache.
+ */
+@Component
+public class AuthServiceClientFallbackFactory implements FallbackFactory<AuthServiceClient> {
+
+    @Override
+    public AuthServiceClient create(Throwable cause) {
+        return new AuthServiceClient() {
+            @Override
+            public UserDTO getUser(UUID id, String token) {
+                throw failure(cause);
+            }
+
+            @Override
+            public UserDTO getCurrentUser(String token) {
+                throw failure(cause);
+            }
+        };
+    }
+
+    private static RuntimeException failure(Throwable cause) {
+        return cause instanceof RuntimeException runtimeException ? runtimeException : new RuntimeException(cause);
+    }
+}
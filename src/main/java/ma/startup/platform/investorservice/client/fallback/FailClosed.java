@@ -0,0 +1,18 @@
+package ma.startup.platform.investorservice.client.fallback;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Feign client whose answers are never recorded nor served by the {@link LastKnownGoodCache}:
+ * while the dependency is failing, its calls fail. Used for identity lookups, where a cached
+ * answer would keep authenticating an expired or revoked token.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface FailClosed {
+}
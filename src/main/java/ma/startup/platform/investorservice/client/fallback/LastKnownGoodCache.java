@@ -0,0 +1,55 @@
+package ma.startup.platform.investorservice.client.fallback;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Last successful response of every Feign call, keyed by method + arguments.
+ * Served by the fallback factories while a dependency's circuit is open, for at most
+ * 'ttl' after the dependency last answered (fallback results are never written back).
+ */
+@Component
+public class LastKnownGoodCache {
+
+    private final Cache<List<Object>, Object> responses;
+
+    @Autowired
+    public LastKnownGoodCache(@Value("${investor.resilience.last-known-good.max-size:10000}") long maxSize,
+                              @Value("${investor.resilience.last-known-good.ttl:1h}") Duration ttl) {
+        this(maxSize, ttl, Ticker.systemTicker());
+    }
+
+    LastKnownGoodCache(long maxSize, Duration ttl, Ticker ticker) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .build();
+    }
+
+    public void put(Method method, Object[] args, Object response) {
+        responses.put(key(method, args), response);
+    }
+
+    public Object get(Method method, Object[] args) {
+        return responses.getIfPresent(key(method, args));
+    }
+
+    private List<Object> key(Method method, Object[] args) {
+        Object[] key = new Object[(args == null ? 0 : args.length) + 1];
+        key[0] = method;
+        if (args != null) {
+            System.arraycopy(args, 0, key, 1, args.length);
+        }
+        return Arrays.asList(key);
+    }
+}
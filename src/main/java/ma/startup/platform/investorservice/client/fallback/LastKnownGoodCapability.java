@@ -0,0 +1,48 @@
+package ma.startup.platform.investorservice.client.fallback;
+
+import feign.Capability;
+import feign.InvocationHandlerFactory;
+import feign.InvocationHandlerFactory.MethodHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records every non-null Feign response into the {@link LastKnownGoodCache}.
+ * Wraps the method handlers the circuit breaker invokes, not the circuit breaker itself:
+ * only answers that really came from the dependency are recorded, never fallback results,
+ * so an entry expires 'ttl' after the last real success. {@link FailClosed} clients are skipped.
+ * Feign applies capabilities by ascending order, the first one ending up outermost: this one
+ * comes first, so it records the winner of a hedged call once (see HedgingCapability).
+ */
+@Component
+@Order(LastKnownGoodCapability.ORDER)
+@RequiredArgsConstructor
+public class LastKnownGoodCapability implements Capability {
+
+    public static final int ORDER = 100;
+
+    private final LastKnownGoodCache cache;
+
+    @Override
+    public InvocationHandlerFactory enrich(InvocationHandlerFactory invocationHandlerFactory) {
+        return (target, dispatch) -> {
+            if (target.type().isAnnotationPresent(FailClosed.class)) {
+                return invocationHandlerFactory.create(target, dispatch);
+            }
+            Map<Method, MethodHandler> recording = new LinkedHashMap<>();
+            dispatch.forEach((method, handler) -> recording.put(method, args -> {
+                Object result = handler.invoke(args);
+                if (result != null) {
+                    cache.put(method, args, result);
+                }
+                return result;
+            }));
+            return invocationHandlerFactory.create(target, recording);
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package ma.startup.platform.investorservice.client.fallback;
+
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Fallback used when a call fails, the circuit is open or the bulkhead is full:
+ * answers with the last known good response for the same method and arguments,
+ * otherwise rethrows the original failure. 3xx/4xx answers are never masked.
+ */
+@Slf4j
+public abstract class LastKnownGoodFallbackFactory<T> implements FallbackFactory<T> {
+
+    private final Class<T> clientType;
+    private final LastKnownGoodCache cache;
+
+    protected LastKnownGoodFallbackFactory(Class<T> clientType, LastKnownGoodCache cache) {
+        this.clientType = clientType;
+        this.cache = cache;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T create(Throwable cause) {
+        return (T) Proxy.newProxyInstance(clientType.getClassLoader(), new Class<?>[]{clientType}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.getName().equals("toString") ? clientType.getSimpleName() + "Fallback" : null;
+            }
+            if (!isAnsweredByDependency(cause)) {
+                Object cached = cache.get(method, args);
+                if (cached != null) {
+                    log.warn("{}.{} failed ({}), serving last known good response",
+                            clientType.getSimpleName(), method.getName(), cause.toString());
+                    return cached;
+                }
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause);
+        });
+    }
+
+    /**
+     * True when the dependency did answer, with a status the caller has to handle (3xx/4xx)
+     */
+    public static boolean isAnsweredByDependency(Throwable error) {
+        return error instanceof FeignException feignException
+                && feignException.status() >= 300 && feignException.status() < 500;
+    }
+}
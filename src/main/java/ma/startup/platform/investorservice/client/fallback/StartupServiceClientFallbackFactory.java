@@ -0,0 +1,12 @@
+package ma.startup.platform.investorservice.client.fallback;
+
+import ma.startup.platform.investorservice.client.StartupServiceClient;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StartupServiceClientFallbackFactory extends LastKnownGoodFallbackFactory<StartupServiceClient> {
+
+    public StartupServiceClientFallbackFactory(LastKnownGoodCache cache) {
+        super(StartupServiceClient.class, cache);
+    }
+}
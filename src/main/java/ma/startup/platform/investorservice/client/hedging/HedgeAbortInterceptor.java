@@ -0,0 +1,82 @@
+package ma.startup.platform.investorservice.client.hedging;
+
+import org.apache.hc.client5.http.classic.ExecChain;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.classic.RequestFailedException;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpException;
+
+import java.io.IOException;
+
+/**
+ * HttpClient 5 exec interceptor, placed right after the connection is acquired, that lets a
+ * losing hedge attempt abort its request. While an attempt runs, its thread exposes an
+ * {@link Abort}; the request binds its exec runtime to it, and aborting closes the connection
+ * at once (discarded, not returned to the pool). That ends the blocking read of the loser and
+ * frees its pool slot instead of waiting for a response nobody reads.
+ */
+public final class HedgeAbortInterceptor implements ExecChainHandler {
+
+    public static final String NAME = "hedge-abort";
+
+    /** Chain element the interceptor is added after (the connection is leased there) */
+    public static final String AFTER = ChainElement.CONNECT.name();
+
+    private static final ThreadLocal<Abort> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public ClassicHttpResponse execute(ClassicHttpRequest request, ExecChain.Scope scope, ExecChain chain)
+            throws IOException, HttpException {
+        Abort abort = CURRENT.get();
+        if (abort != null && scope.execRuntime instanceof Cancellable runtime && !abort.bind(runtime)) {
+            // aborted before the request was sent (also stops the retry of an aborted request)
+            throw new RequestFailedException("Hedged attempt aborted");
+        }
+        return chain.proceed(request, scope);
+    }
+
+    static void enter(Abort abort) {
+        CURRENT.set(abort);
+    }
+
+    static void exit(Abort abort) {
+        CURRENT.remove();
+        abort.unbind();
+    }
+
+    /**
+     * Abort handle of one attempt
+     */
+    static final class Abort {
+
+        private Cancellable runtime;
+        private boolean aborted;
+
+        synchronized boolean bind(Cancellable runtime) {
+            if (aborted) {
+                return false;
+            }
+            this.runtime = runtime;
+            return true;
+        }
+
+        synchronized void unbind() {
+            runtime = null;
+        }
+
+        void abort() {
+            Cancellable bound;
+            synchronized (this) {
+                aborted = true;
+                bound = runtime;
+                runtime = null;
+            }
+            if (bound != null) {
+                bound.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package ma.startup.platform.investorservice.client.hedging;
+
+import feign.Capability;
+import feign.InvocationHandlerFactory;
+import feign.InvocationHandlerFactory.MethodHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.client.fallback.LastKnownGoodCapability;
+import org.springframework.core.annotation.Order;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hedged requests for idempotent Feign clients: when a call is still running after the
+ * configured percentile of its observed latency, an identical request is fired, the first
+ * successful answer wins and the other attempt is aborted. Hedges are capped by a
+ * global {@link HedgeBudget}.
+ *
+ * Like LastKnownGoodCapability, it wraps the method handlers the circuit breaker invokes,
+ * so both attempts make a single circuit breaker call holding a single bulkhead permit.
+ * Order of a call, outermost first: bulkhead, circuit breaker (time limiter, fallback),
+ * LastKnownGoodCapability, HedgingCapability (ORDER, after it), HTTP request. The loser's
+ * HTTP request is aborted through {@link HedgeAbortInterceptor}, which releases its pooled
+ * connection right away.
+ */
+@Slf4j
+@Order(HedgingCapability.ORDER)
+public class HedgingCapability implements Capability, AutoCloseable {
+
+    /** Applied after LastKnownGoodCapability, hence nested inside it */
+    public static final int ORDER = LastKnownGoodCapability.ORDER + 100;
+
+    private final HedgingProperties properties;
+    private final HedgeBudget budget;
+    private final Map<Method, LatencyTracker> trackers = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final Counter calls;
+    private final Counter hedges;
+    private final Counter hedgeWins;
+
+    public HedgingCapability(HedgingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.budget = new HedgeBudget(properties.getBudgetRatio(), properties.getMaxBudgetTokens());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "feign-hedging-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.calls = meterRegistry.counter("investor.hedging.calls");
+        this.hedges = meterRegistry.counter("investor.hedging.hedges");
+        this.hedgeWins = meterRegistry.counter("investor.hedging.hedge.wins");
+    }
+
+    @Override
+    public InvocationHandlerFactory enrich(InvocationHandlerFactory invocationHandlerFactory) {
+        return (target, dispatch) -> {
+            if (!properties.getClients().contains(target.name())) {
+                return invocationHandlerFactory.create(target, dispatch);
+            }
+            log.info("Hedging enabled for Feign client {}", target.name());
+            Map<Method, MethodHandler> hedged = new LinkedHashMap<>();
+            dispatch.forEach((method, handler) -> hedged.put(method, args -> invokeHedged(handler, method, args)));
+            return invocationHandlerFactory.create(target, hedged);
+        };
+    }
+
+    private Object invokeHedged(MethodHandler delegate, Method method, Object[] args) throws Throwable {
+        LatencyTracker tracker = trackers.computeIfAbsent(method, m ->
+                new LatencyTracker(properties.getWindow(), properties.getPercentile(), properties.getMinSamples()));
+        calls.increment();
+        budget.onRequest();
+
+        long start = System.nanoTime();
+        Attempt primary;
+        try {
+            primary = new Attempt(delegate, args);
+        } catch (RejectedExecutionException e) {
+            // Hedging pool saturated: behave like a plain call
+            return delegate.invoke(args);
+        }
+
+        long delay = tracker.percentileNanos();
+        if (delay < 0) {
+            return record(tracker, start, primary.await());
+        }
+        delay = Math.max(delay, properties.getMinDelay().toNanos());
+
+        try {
+            return record(tracker, start, primary.result.get(delay, TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            // still running: hedge below
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            primary.cancel();
+            throw e;
+        }
+
+        Attempt hedge;
+        try {
+            hedge = budget.tryAcquire() ? new Attempt(delegate, args) : null;
+        } catch (RejectedExecutionException e) {
+            hedge = null;
+        }
+        if (hedge == null) {
+            return record(tracker, start, primary.await());
+        }
+        hedges.increment();
+
+        Attempt hedgeAttempt = hedge;
+        CompletableFuture<Object> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (Attempt attempt : new Attempt[]{primary, hedgeAttempt}) {
+            attempt.result.whenComplete((value, error) -> {
+                if (error == null) {
+                    if (winner.complete(value) && attempt == hedgeAttempt) {
+                        hedgeWins.increment();
+                    }
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        try {
+            return record(tracker, start, winner.get());
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } finally {
+            primary.cancel();
+            hedgeAttempt.cancel();
+        }
+    }
+
+    private Object record(LatencyTracker tracker, long start, Object value) {
+        tracker.record(System.nanoTime() - start);
+        return value;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private final class Attempt {
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final HedgeAbortInterceptor.Abort abort = new HedgeAbortInterceptor.Abort();
+        private final Future<?> task;
+
+        private Attempt(MethodHandler delegate, Object[] args) {
+            this.task = executor.submit(() -> {
+                HedgeAbortInterceptor.enter(abort);
+                try {
+                    result.complete(delegate.invoke(args));
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    HedgeAbortInterceptor.exit(abort);
+                }
+            });
+        }
+
+        private Object await() throws Throwable {
+            try {
+                return result.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            } catch (InterruptedException e) {
+                // the caller gave up (time limiter): do not leave the request running
+                cancel();
+                throw e;
+            }
+        }
+
+        // no-op once the attempt has completed; otherwise closes its connection (see HedgeAbortInterceptor)
+        private void cancel() {
+            task.cancel(false);
+            abort.abort();
+        }
+    }
+}
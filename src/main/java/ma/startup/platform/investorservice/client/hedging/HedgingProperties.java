@@ -0,0 +1,37 @@
+package ma.startup.platform.investorservice.client.hedging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Opt-in request hedging for idempotent Feign reads
+ */
+@Data
+@ConfigurationProperties(prefix = "investor.hedging")
+public class HedgingProperties {
+
+    private boolean enabled = false;
+
+    /** Feign client names whose calls may be hedged (all their methods must be idempotent) */
+    private Set<String> clients = new HashSet<>(Set.of("startup-service"));
+
+    /** Latency percentile after which a second request is fired */
+    private double percentile = 0.95;
+
+    /** Lower bound of the hedge delay, whatever the observed latency */
+    private Duration minDelay = Duration.ofMillis(20);
+
+    /** Latency samples kept per method, and samples needed before hedging starts */
+    private int window = 256;
+    private int minSamples = 20;
+
+    /** Extra load allowed: each call earns this many hedge tokens, each hedge spends one */
+    private double budgetRatio = 0.05;
+    private double maxBudgetTokens = 10;
+
+    private int threads = 32;
+}
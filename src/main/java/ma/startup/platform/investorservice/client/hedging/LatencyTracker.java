@@ -0,0 +1,46 @@
+package ma.startup.platform.investorservice.client.hedging;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of recent latencies with a lazily refreshed percentile
+ */
+class LatencyTracker {
+
+    private static final int REFRESH_EVERY = 16;
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+    private int next;
+    private int count;
+    private int sinceRefresh;
+    private volatile long cachedPercentileNanos = -1;
+
+    LatencyTracker(int window, double percentile, int minSamples) {
+        this.samples = new long[window];
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        if (++sinceRefresh >= REFRESH_EVERY || cachedPercentileNanos < 0) {
+            sinceRefresh = 0;
+            if (count >= minSamples) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                cachedPercentileNanos = sorted[(int) Math.min(count - 1, Math.ceil(percentile * count) - 1)];
+            }
+        }
+    }
+
+    /**
+     * @return the configured percentile in nanoseconds, or -1 while there are too few samples
+     */
+    long percentileNanos() {
+        return cachedPercentileNanos;
+    }
+}
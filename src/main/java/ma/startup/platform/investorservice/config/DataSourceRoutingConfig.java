@@ -0,0 +1,76 @@
+package ma.startup.platform.investorservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.datasource.ReadReplicaRoutingDataSource;
+import ma.startup.platform.investorservice.datasource.ReadYourWritesFilter;
+import ma.startup.platform.investorservice.datasource.ReadYourWritesTracker;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write split, enabled by setting investor.datasource.replica.jdbc-url.
+ *
+ * Read-write transactions use the primary pool (spring.datasource.*). Transactions marked
+ * {@code @Transactional(readOnly = true)} use the replica pool (investor.datasource.replica.*),
+ * except for a caller that wrote within investor.datasource.read-your-writes-window.
+ * The lazy proxy defers the physical connection until the transaction's read-only
+ * flag is known.
+ */
+@Configuration
+@ConditionalOnProperty(name = "investor.datasource.replica.jdbc-url")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Replica pool: Hikari properties bound directly (jdbc-url, username, password, maximum-pool-size...)
+     */
+    @Bean
+    @ConfigurationProperties("investor.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${investor.datasource.read-your-writes-window:5s}") Duration window) {
+        log.info("Read replica routing enabled, read-your-writes window={}", window);
+        return new ReadYourWritesTracker(window);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadYourWritesTracker tracker) {
+        return new ReadYourWritesFilter(tracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWritesTracker tracker) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(new ReadReplicaRoutingDataSource(primary, replica, tracker));
+        return proxy;
+    }
+}
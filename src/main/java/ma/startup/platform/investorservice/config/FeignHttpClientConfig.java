@@ -0,0 +1,84 @@
+package ma.startup.platform.investorservice.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.http.HeaderElement;
+import org.apache.hc.core5.http.HeaderElements;
+import org.apache.hc.core5.http.message.MessageSupport;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Iterator;
+
+/**
+ * Tuning of the pooled Apache HttpClient 5 transport shared by the Feign clients
+ * (auth-service, startup-service).
+ *
+ * Pool sizes and per-route limits are the standard spring.cloud.openfeign.httpclient.*
+ * properties (STRICT pool concurrency policy, so max-connections-per-route is a hard limit);
+ * keep-alive and idle eviction are configured here. Gzip is negotiated by HttpClient 5 itself
+ * (Accept-Encoding + transparent decompression).
+ *
+ * An idle connection is kept for the smaller of the server's Keep-Alive timeout and
+ * investor.http-client.keep-alive: a server closing its side first would otherwise leave a
+ * stale connection in the pool (NoHttpResponseException / connection reset on reuse).
+ */
+@Configuration
+@Slf4j
+public class FeignHttpClientConfig {
+
+    @Value("${investor.http-client.keep-alive:30s}")
+    private Duration keepAlive;
+
+    @Value("${investor.http-client.idle-eviction:60s}")
+    private Duration idleEviction;
+
+    @Bean
+    public HttpClientBuilderCustomizer keepAliveHttpClientCustomizer() {
+        return builder -> {
+            log.info("Feign HttpClient5: keep-alive={}, idle-eviction={}", keepAlive, idleEviction);
+            builder.setKeepAliveStrategy(keepAliveStrategy(keepAlive))
+                    .evictExpiredConnections()
+                    .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction.toMillis()));
+        };
+    }
+
+    static ConnectionKeepAliveStrategy keepAliveStrategy(Duration max) {
+        return (response, context) -> {
+            long millis = max.toMillis();
+            Iterator<HeaderElement> elements = MessageSupport.iterate(response, HeaderElements.KEEP_ALIVE);
+            while (elements.hasNext()) {
+                HeaderElement element = elements.next();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        millis = Math.min(millis, Math.max(0, Long.parseLong(element.getValue().trim())) * 1000);
+                    } catch (NumberFormatException e) {
+                        log.debug("Ignoring Keep-Alive timeout '{}'", element.getValue());
+                    }
+                }
+            }
+            return TimeValue.ofMilliseconds(millis);
+        };
+    }
+
+    /**
+     * Publishes httpcomponents.httpclient.pool.* gauges (leased / available / pending)
+     */
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> hc5ConnectionManager) {
+        return registry -> hc5ConnectionManager.ifAvailable(manager -> {
+            if (manager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        });
+    }
+}
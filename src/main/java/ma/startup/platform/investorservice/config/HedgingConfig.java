@@ -0,0 +1,32 @@
+package ma.startup.platform.investorservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import ma.startup.platform.investorservice.client.hedging.HedgeAbortInterceptor;
+import ma.startup.platform.investorservice.client.hedging.HedgingCapability;
+import ma.startup.platform.investorservice.client.hedging.HedgingProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(HedgingProperties.class)
+public class HedgingConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "investor.hedging.enabled", havingValue = "true")
+    public HedgingCapability hedgingCapability(HedgingProperties properties, MeterRegistry meterRegistry) {
+        return new HedgingCapability(properties, meterRegistry);
+    }
+
+    /**
+     * Lets a losing attempt abort its HTTP request (and free its pooled connection)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "investor.hedging.enabled", havingValue = "true")
+    public HttpClientBuilderCustomizer hedgeAbortHttpClientCustomizer() {
+        return builder -> builder.addExecInterceptorAfter(HedgeAbortInterceptor.AFTER, HedgeAbortInterceptor.NAME,
+                new HedgeAbortInterceptor());
+    }
+}
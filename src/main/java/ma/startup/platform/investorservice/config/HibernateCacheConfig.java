@@ -0,0 +1,108 @@
+package ma.startup.platform.investorservice.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.HibernateMetrics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache: in-process Caffeine (JCache) regions for Investor
+ * entities and the query cache used by InvestorRepository.findByUserId.
+ *
+ * Regions are created here (bounded, with a TTL) rather than by Hibernate on demand;
+ * hibernate.javax.cache.missing_cache_strategy=fail catches a region missing from this list.
+ */
+@Configuration
+@Slf4j
+public class HibernateCacheConfig {
+
+    public static final String INVESTOR_REGION = "investors";
+
+    @Value("${investor.second-level-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${investor.second-level-cache.ttl:10m}")
+    private Duration ttl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // one manager per application context (test contexts share the JVM)
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("investor-service:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(INVESTOR_REGION, bounded());
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded());
+        // update timestamps must never be evicted before the query results that depend on them
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+
+        log.info("Hibernate second-level cache: max-size={}, ttl={}", maxSize, ttl);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /**
+     * hibernate.* session factory metrics (cache requests/puts per region, queries...) plus
+     * hit-ratio gauges for the investor region and the query cache
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        return registry -> entityManagerFactory.ifAvailable(emf -> {
+            SessionFactory sessionFactory = emf.unwrap(SessionFactory.class);
+            new HibernateMetrics(sessionFactory, "investor-service", List.of()).bindTo(registry);
+
+            Statistics statistics = sessionFactory.getStatistics();
+            Gauge.builder("investor.hibernate.cache.hit.ratio", statistics,
+                            s -> hitRatio(s.getDomainDataRegionStatistics(INVESTOR_REGION)))
+                    .tag("region", INVESTOR_REGION)
+                    .register(registry);
+            Gauge.builder("investor.hibernate.cache.hit.ratio", statistics,
+                            s -> ratio(s.getQueryCacheHitCount(), s.getQueryCacheMissCount()))
+                    .tag("region", RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)
+                    .register(registry);
+        });
+    }
+
+    private CaffeineConfiguration<Object, Object> bounded() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        return region == null ? Double.NaN : ratio(region.getHitCount(), region.getMissCount());
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+}
@@ -0,0 +1,91 @@
+package ma.startup.platform.investorservice.config;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.client.fallback.LastKnownGoodFallbackFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4jBulkheadProvider;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * One circuit breaker and one semaphore bulkhead per remote dependency, so a slow
+ * startup-service cannot starve the servlet threads serving unrelated endpoints.
+ *
+ * Layers of a Feign call, outermost first: bulkhead, circuit breaker (time limiter,
+ * fallback factory), LastKnownGoodCapability, HedgingCapability, HTTP request. The two
+ * capabilities are ordered by @Order, not by bean registration.
+ */
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+@Slf4j
+public class ResilienceConfig {
+
+    static final String[] DEPENDENCIES = {"auth-service", "startup-service"};
+
+    /**
+     * Name circuits after the Feign client instead of each method
+     */
+    @Bean
+    public CircuitBreakerNameResolver circuitBreakerNameResolver() {
+        return (feignClientName, target, method) -> feignClientName;
+    }
+
+    @Bean
+    public Customizer<Resilience4JCircuitBreakerFactory> dependencyCircuitBreakers(ResilienceProperties properties,
+                                                                                 MeterRegistry meterRegistry) {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .slowCallRateThreshold(properties.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(properties.getSlowCallDuration())
+                .slidingWindowSize(properties.getSlidingWindowSize())
+                .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(properties.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // 3xx/4xx answers (304 on conditional reads, 404...) mean the dependency is healthy
+                .ignoreException(LastKnownGoodFallbackFactory::isAnsweredByDependency)
+                .build();
+        TimeLimiterConfig timeLimiterConfig = TimeLimiterConfig.custom()
+                .timeoutDuration(properties.getTimeout())
+                .build();
+
+        return factory -> {
+            factory.configure(builder -> builder
+                    .circuitBreakerConfig(circuitBreakerConfig)
+                    .timeLimiterConfig(timeLimiterConfig), DEPENDENCIES);
+            factory.configureDefault(id -> new Resilience4JConfigBuilder(id)
+                    .circuitBreakerConfig(circuitBreakerConfig)
+                    .timeLimiterConfig(timeLimiterConfig)
+                    .build());
+            factory.addCircuitBreakerCustomizer(circuitBreaker -> circuitBreaker.getEventPublisher()
+                    .onStateTransition(event -> {
+                        log.warn("Circuit {} changed state: {}", event.getCircuitBreakerName(), event.getStateTransition());
+                        meterRegistry.counter("investor.dependency.circuit.transitions",
+                                "name", event.getCircuitBreakerName(),
+                                "from", event.getStateTransition().getFromState().name(),
+                                "to", event.getStateTransition().getToState().name()).increment();
+                    }), DEPENDENCIES);
+        };
+    }
+
+    @Bean
+    public Customizer<Resilience4jBulkheadProvider> dependencyBulkheads(ResilienceProperties properties) {
+        return provider -> {
+            for (String dependency : DEPENDENCIES) {
+                int maxConcurrentCalls = properties.getMaxConcurrentCalls().getOrDefault(dependency, 25);
+                provider.configure(builder -> builder.bulkheadConfig(BulkheadConfig.custom()
+                        .maxConcurrentCalls(maxConcurrentCalls)
+                        .maxWaitDuration(properties.getBulkheadMaxWait())
+                        .build()), dependency);
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package ma.startup.platform.investorservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Circuit breaker and bulkhead settings for the remote dependencies (auth-service, startup-service)
+ */
+@Data
+@ConfigurationProperties(prefix = "investor.resilience")
+public class ResilienceProperties {
+
+    private float failureRateThreshold = 50;
+    private float slowCallRateThreshold = 80;
+    private Duration slowCallDuration = Duration.ofSeconds(3);
+    private int slidingWindowSize = 20;
+    private int minimumNumberOfCalls = 10;
+    private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+    private int permittedCallsInHalfOpenState = 3;
+    private Duration timeout = Duration.ofSeconds(6);
+
+    /** Max wait for a bulkhead permit before failing fast */
+    private Duration bulkheadMaxWait = Duration.ofMillis(50);
+
+    /** Max concurrent calls per dependency (key = Feign client name) */
+    private Map<String, Integer> maxConcurrentCalls = new HashMap<>();
+}
@@ -0,0 +1,21 @@
+package ma.startup.platform.investorservice.config;
+
+import lombok.RequiredArgsConstructor;
+import ma.startup.platform.investorservice.security.CurrentActorArgumentResolver;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CurrentActorArgumentResolver currentActorArgumentResolver;
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentActorArgumentResolver);
+    }
+}
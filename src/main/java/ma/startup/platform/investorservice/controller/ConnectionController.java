@@ -4,8 +4,13 @@ package ma.startup.platform.investorservice.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.dto.CursorPage;
+import ma.startup.platform.investorservice.dto.BulkActionRequest;
+import ma.startup.platform.investorservice.dto.BulkActionResponse;
 import ma.startup.platform.investorservice.dto.ConnectionRequestDTO;
 import ma.startup.platform.investorservice.dto.ConnectionResponse;
+import ma.startup.platform.investorservice.enums.ConnectionStatus;
+import ma.startup.platform.investorservice.security.CurrentActor;
 import ma.startup.platform.investorservice.service.ConnectionService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -28,10 +33,10 @@ public class ConnectionController {
     @PostMapping("/request")
     public ResponseEntity<?> requestConnection(
             @Valid @RequestBody ConnectionRequestDTO request,
-            @RequestHeader("Authorization") String authHeader) {
+            CurrentActor actor) {
         try {
             log.info("POST /api/connections/request - Requesting connection");
-            ConnectionResponse response = connectionService.requestConnection(request, authHeader);
+            ConnectionResponse response = connectionService.requestConnection(request, actor);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
             log.error("Error requesting connection: {}", e.getMessage());
@@ -40,14 +45,18 @@ public class ConnectionController {
     }
 
     /**
-     * GET /api/connections/received - Get received connection requests (investor view)
+     * GET /api/connections/received?statut=PENDING&after={cursor}&size=20 - Get received connection requests (investor view)
      */
     @GetMapping("/received")
-    public ResponseEntity<?> getReceivedRequests(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getReceivedRequests(
+            CurrentActor actor,
+            @RequestParam(required = false) List<ConnectionStatus> statut,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            log.info("GET /api/connections/received - Fetching received requests");
-            List<ConnectionResponse> requests = connectionService.getReceivedRequests(authHeader);
-            return ResponseEntity.ok(requests);
+            log.info("GET /api/connections/received - Fetching received requests (statut: {}, after: {}, size: {})",
+                    statut, after, size);
+            return inbox(connectionService.getReceivedRequests(actor, statut, after, size));
         } catch (Exception e) {
             log.error("Error fetching received requests: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
@@ -55,14 +64,18 @@ public class ConnectionController {
     }
 
     /**
-     * GET /api/connections/sent - Get sent connection requests (startup view)
+     * GET /api/connections/sent?statut=PENDING&after={cursor}&size=20 - Get sent connection requests (startup view)
      */
     @GetMapping("/sent")
-    public ResponseEntity<?> getSentRequests(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getSentRequests(
+            CurrentActor actor,
+            @RequestParam(required = false) List<ConnectionStatus> statut,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            log.info("GET /api/connections/sent - Fetching sent requests");
-            List<ConnectionResponse> requests = connectionService.getSentRequests(authHeader);
-            return ResponseEntity.ok(requests);
+            log.info("GET /api/connections/sent - Fetching sent requests (statut: {}, after: {}, size: {})",
+                    statut, after, size);
+            return inbox(connectionService.getSentRequests(actor, statut, after, size));
         } catch (Exception e) {
             log.error("Error fetching sent requests: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
@@ -75,10 +88,10 @@ public class ConnectionController {
     @PutMapping("/{id}/accept")
     public ResponseEntity<?> acceptConnection(
             @PathVariable UUID id,
-            @RequestHeader("Authorization") String authHeader) {
+            CurrentActor actor) {
         try {
             log.info("PUT /api/connections/{}/accept - Accepting connection", id);
-            ConnectionResponse response = connectionService.acceptConnection(id, authHeader);
+            ConnectionResponse response = connectionService.acceptConnection(id, actor);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error accepting connection: {}", e.getMessage());
@@ -92,10 +105,10 @@ public class ConnectionController {
     @PutMapping("/{id}/reject")
     public ResponseEntity<?> rejectConnection(
             @PathVariable UUID id,
-            @RequestHeader("Authorization") String authHeader) {
+            CurrentActor actor) {
         try {
             log.info("PUT /api/connections/{}/reject - Rejecting connection", id);
-            ConnectionResponse response = connectionService.rejectConnection(id, authHeader);
+            ConnectionResponse response = connectionService.rejectConnection(id, actor);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error rejecting connection: {}", e.getMessage());
@@ -104,17 +117,41 @@ public class ConnectionController {
     }
 
     /**
-     * GET /api/connections/active - Get all active connections
+     * POST /api/connections/bulk - Accept or reject many connection requests (investor, at most 100 ids)
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulkRespond(
+            @Valid @RequestBody BulkActionRequest request,
+            CurrentActor actor) {
+        try {
+            log.info("POST /api/connections/bulk - {} of {} requests", request.getAction(), request.getIds().size());
+            BulkActionResponse response = connectionService.bulkRespond(request, actor);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error in bulk connection action: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/connections/active?after={cursor}&size=20 - Get active connections
      */
     @GetMapping("/active")
-    public ResponseEntity<?> getActiveConnections(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getActiveConnections(
+            CurrentActor actor,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            log.info("GET /api/connections/active - Fetching active connections");
-            List<ConnectionResponse> connections = connectionService.getActiveConnections(authHeader);
-            return ResponseEntity.ok(connections);
+            log.info("GET /api/connections/active - Fetching active connections (after: {}, size: {})", after, size);
+            return inbox(connectionService.getActiveConnections(actor, after, size));
         } catch (Exception e) {
             log.error("Error fetching active connections: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
         }
     }
+
+    // one bounded {content, nextCursor} page (size capped at KeysetCursor.MAX_PAGE_SIZE)
+    private static ResponseEntity<?> inbox(CursorPage<?> page) {
+        return ResponseEntity.ok(page);
+    }
 }
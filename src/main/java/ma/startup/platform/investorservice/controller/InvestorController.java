@@ -6,8 +6,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ma.startup.platform.investorservice.dto.CreateInvestorRequest;
 import ma.startup.platform.investorservice.dto.InvestorResponse;
+import ma.startup.platform.investorservice.dto.InvestorSliceResponse;
 import ma.startup.platform.investorservice.dto.StartupDetailResponse;
 import ma.startup.platform.investorservice.dto.UpdateInvestorRequest;
+import ma.startup.platform.investorservice.security.CurrentActor;
 import ma.startup.platform.investorservice.service.InvestorService;
 import ma.startup.platform.investorservice.service.StartupDetailService;
 import org.springframework.data.domain.Page;
@@ -35,10 +37,10 @@ public class InvestorController {
     @PostMapping
     public ResponseEntity<?> createInvestor(
             @Valid @RequestBody CreateInvestorRequest request,
-            @RequestHeader("Authorization") String authHeader) {
+            CurrentActor actor) {
         try {
             log.info("POST /api/investors - Creating investor profile");
-            InvestorResponse response = investorService.createInvestor(request, authHeader);
+            InvestorResponse response = investorService.createInvestor(request, actor);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
             log.error("Error creating investor: {}", e.getMessage());
@@ -50,10 +52,10 @@ public class InvestorController {
      * GET /api/investors/me - Get my investor profile
      */
     @GetMapping("/me")
-    public ResponseEntity<?> getMyInvestor(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getMyInvestor(CurrentActor actor) {
         try {
             log.info("GET /api/investors/me - Fetching my investor profile");
-            InvestorResponse response = investorService.getMyInvestor(authHeader);
+            InvestorResponse response = investorService.getMyInvestor(actor);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error fetching investor profile: {}", e.getMessage());
@@ -67,10 +69,10 @@ public class InvestorController {
     @PutMapping("/me")
     public ResponseEntity<?> updateMyInvestor(
             @Valid @RequestBody UpdateInvestorRequest request,
-            @RequestHeader("Authorization") String authHeader) {
+            CurrentActor actor) {
         try {
             log.info("PUT /api/investors/me - Updating investor profile");
-            InvestorResponse response = investorService.updateMyInvestor(request, authHeader);
+            InvestorResponse response = investorService.updateMyInvestor(request, actor);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error updating investor: {}", e.getMessage());
@@ -80,12 +82,21 @@ public class InvestorController {
 
     /**
      * GET /api/investors - List all investors (paginated)
+     * GET /api/investors?after={createdAt,id}&size=20&withTotal=false - Keyset slice, newest first
+     * (pass after= empty for the first slice, then the returned nextCursor)
      */
     @GetMapping
     public ResponseEntity<?> getAllInvestors(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
         try {
+            if (after != null) {
+                log.info("GET /api/investors - Fetching investors after '{}' (size: {})", after, size);
+                InvestorSliceResponse response = investorService.getInvestorsAfter(after, size, withTotal);
+                return ResponseEntity.ok(response);
+            }
             log.info("GET /api/investors - Fetching all investors (page: {}, size: {})", page, size);
             Pageable pageable = PageRequest.of(page, size);
             Page<InvestorResponse> response = investorService.getAllInvestors(pageable);
@@ -128,10 +139,10 @@ public class InvestorController {
     @GetMapping("/startups/{startupId}/details")
     public ResponseEntity<?> getStartupDetails(
             @PathVariable UUID startupId,
-            @RequestHeader("Authorization") String authHeader) {
+            CurrentActor actor) {
         try {
             log.info("GET /api/investors/startups/{}/details", startupId);
-            StartupDetailResponse response = startupDetailService.getStartupDetails(startupId, authHeader);
+            StartupDetailResponse response = startupDetailService.getStartupDetails(startupId, actor);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error fetching startup details: {}", e.getMessage());
@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ma.startup.platform.investorservice.dto.MatchingResponse;
 import ma.startup.platform.investorservice.dto.StartupMatchResponse;
+import ma.startup.platform.investorservice.security.CurrentActor;
 import ma.startup.platform.investorservice.service.MatchingService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,10 +26,10 @@ public class MatchingController {
      * Get matching investors for current startup (sorted by score)
      */
     @GetMapping("/for-me")
-    public ResponseEntity<?> getMatchingInvestorsForMe(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getMatchingInvestorsForMe(CurrentActor actor) {
         try {
             log.info("GET /api/matching/for-me - Calculating matching investors");
-            List<MatchingResponse> matches = matchingService.getMatchingInvestorsForMe(authHeader);
+            List<MatchingResponse> matches = matchingService.getMatchingInvestorsForMe(actor);
             return ResponseEntity.ok(matches);
         } catch (Exception e) {
             log.error("Error calculating matches: {}", e.getMessage());
@@ -42,10 +43,10 @@ public class MatchingController {
     @GetMapping("/score/{investorId}")
     public ResponseEntity<?> getMatchingScore(
             @PathVariable UUID investorId,
-            @RequestHeader("Authorization") String authHeader) {
+            CurrentActor actor) {
         try {
             log.info("GET /api/matching/score/{} - Getting matching score", investorId);
-            MatchingResponse response = matchingService.getMatchingScore(investorId, authHeader);
+            MatchingResponse response = matchingService.getMatchingScore(investorId, actor);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error getting matching score: {}", e.getMessage());
@@ -57,10 +58,10 @@ public class MatchingController {
      * POST /api/matching/calculate - Force recalculation of matches
      */
     @PostMapping("/calculate")
-    public ResponseEntity<?> recalculateMatches(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> recalculateMatches(CurrentActor actor) {
         try {
             log.info("POST /api/matching/calculate - Forcing recalculation");
-            matchingService.recalculateMatches(authHeader);
+            matchingService.recalculateMatches(actor);
             return ResponseEntity.ok("Matching recalculé avec succès");
         } catch (Exception e) {
             log.error("Error recalculating matches: {}", e.getMessage());
@@ -71,10 +72,10 @@ public class MatchingController {
      * GET /api/matching/startups - Get matching startups (investor view)
      */
     @GetMapping("/startups")
-    public ResponseEntity<?> getMatchingStartupsForMe(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getMatchingStartupsForMe(CurrentActor actor) {
         try {
             log.info("GET /api/matching/startups - Calculating matching startups for investor");
-            List<StartupMatchResponse> matches = matchingService.getMatchingStartupsForMe(authHeader);
+            List<StartupMatchResponse> matches = matchingService.getMatchingStartupsForMe(actor);
             return ResponseEntity.ok(matches);
         } catch (Exception e) {
             log.error("Error calculating startup matches: {}", e.getMessage());
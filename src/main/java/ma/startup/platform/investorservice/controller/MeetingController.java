@@ -3,14 +3,33 @@ package ma.startup.platform.investorservice.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.dto.AvailabilityResponse;
+import ma.startup.platform.investorservice.dto.BulkActionRequest;
+import ma.startup.platform.investorservice.dto.BulkActionResponse;
+import ma.startup.platform.investorservice.dto.CalendarTokenResponse;
+import ma.startup.platform.investorservice.dto.CursorPage;
 import ma.startup.platform.investorservice.dto.MeetingResponse;
 import ma.startup.platform.investorservice.dto.ScheduleMeetingRequest;
+import ma.startup.platform.investorservice.dto.SlotSuggestionResponse;
+import ma.startup.platform.investorservice.enums.MeetingStatus;
+import ma.startup.platform.investorservice.security.CurrentActor;
+import ma.startup.platform.investorservice.security.CurrentActorArgumentResolver;
+import ma.startup.platform.investorservice.service.CalendarFeed;
 import ma.startup.platform.investorservice.service.MeetingService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -19,7 +38,10 @@ import java.util.UUID;
 @Slf4j
 public class MeetingController {
 
+    private static final MediaType CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
     private final MeetingService meetingService;
+    private final CurrentActorArgumentResolver currentActorResolver;
 
     /**
      * POST /api/meetings/schedule - Investor schedules a meeting
@@ -27,10 +49,10 @@ public class MeetingController {
     @PostMapping("/schedule")
     public ResponseEntity<?> scheduleMeeting(
             @Valid @RequestBody ScheduleMeetingRequest request,
-            @RequestHeader("Authorization") String authHeader) {
+            CurrentActor actor) {
         try {
             log.info("POST /api/meetings/schedule - Scheduling meeting");
-            MeetingResponse response = meetingService.scheduleMeeting(request, authHeader);
+            MeetingResponse response = meetingService.scheduleMeeting(request, actor);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
             log.error("Error scheduling meeting: {}", e.getMessage());
@@ -39,14 +61,18 @@ public class MeetingController {
     }
 
     /**
-     * GET /api/meetings/received - Get received meeting requests (startup view)
+     * GET /api/meetings/received?status=PENDING&after={cursor}&size=20 - Get received meeting requests (startup view)
      */
     @GetMapping("/received")
-    public ResponseEntity<?> getReceivedMeetings(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getReceivedMeetings(
+            CurrentActor actor,
+            @RequestParam(required = false) List<MeetingStatus> status,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            log.info("GET /api/meetings/received - Fetching received meetings");
-            List<MeetingResponse> meetings = meetingService.getReceivedMeetings(authHeader);
-            return ResponseEntity.ok(meetings);
+            log.info("GET /api/meetings/received - Fetching received meetings (status: {}, after: {}, size: {})",
+                    status, after, size);
+            return inbox(meetingService.getReceivedMeetings(actor, status, after, size));
         } catch (Exception e) {
             log.error("Error fetching received meetings: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
@@ -54,14 +80,18 @@ public class MeetingController {
     }
 
     /**
-     * GET /api/meetings/sent - Get sent meeting requests (investor view)
+     * GET /api/meetings/sent?status=PENDING&after={cursor}&size=20 - Get sent meeting requests (investor view)
      */
     @GetMapping("/sent")
-    public ResponseEntity<?> getSentMeetings(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getSentMeetings(
+            CurrentActor actor,
+            @RequestParam(required = false) List<MeetingStatus> status,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            log.info("GET /api/meetings/sent - Fetching sent meetings");
-            List<MeetingResponse> meetings = meetingService.getSentMeetings(authHeader);
-            return ResponseEntity.ok(meetings);
+            log.info("GET /api/meetings/sent - Fetching sent meetings (status: {}, after: {}, size: {})",
+                    status, after, size);
+            return inbox(meetingService.getSentMeetings(actor, status, after, size));
         } catch (Exception e) {
             log.error("Error fetching sent meetings: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
@@ -74,10 +104,10 @@ public class MeetingController {
     @PutMapping("/{id}/accept")
     public ResponseEntity<?> acceptMeeting(
             @PathVariable UUID id,
-            @RequestHeader("Authorization") String authHeader) {
+            CurrentActor actor) {
         try {
             log.info("PUT /api/meetings/{}/accept - Accepting meeting", id);
-            MeetingResponse response = meetingService.acceptMeeting(id, authHeader);
+            MeetingResponse response = meetingService.acceptMeeting(id, actor);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error accepting meeting: {}", e.getMessage());
@@ -91,10 +121,10 @@ public class MeetingController {
     @PutMapping("/{id}/reject")
     public ResponseEntity<?> rejectMeeting(
             @PathVariable UUID id,
-            @RequestHeader("Authorization") String authHeader) {
+            CurrentActor actor) {
         try {
             log.info("PUT /api/meetings/{}/reject - Rejecting meeting", id);
-            MeetingResponse response = meetingService.rejectMeeting(id, authHeader);
+            MeetingResponse response = meetingService.rejectMeeting(id, actor);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error rejecting meeting: {}", e.getMessage());
@@ -109,10 +139,10 @@ public class MeetingController {
     public ResponseEntity<?> rescheduleMeeting(
             @PathVariable UUID id,
             @Valid @RequestBody ScheduleMeetingRequest request,
-            @RequestHeader("Authorization") String authHeader) {
+            CurrentActor actor) {
         try {
             log.info("PUT /api/meetings/{}/reschedule - Rescheduling meeting", id);
-            MeetingResponse response = meetingService.rescheduleMeeting(id, request, authHeader);
+            MeetingResponse response = meetingService.rescheduleMeeting(id, request, actor);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error rescheduling meeting: {}", e.getMessage());
@@ -121,34 +151,180 @@ public class MeetingController {
     }
 
     /**
-     * GET /api/meetings/upcoming - Get upcoming meetings
+     * POST /api/meetings/bulk - Accept / reject (startup) or cancel many meetings (at most 100 ids)
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulkAction(
+            @Valid @RequestBody BulkActionRequest request,
+            CurrentActor actor) {
+        try {
+            log.info("POST /api/meetings/bulk - {} of {} meetings", request.getAction(), request.getIds().size());
+            BulkActionResponse response = meetingService.bulkAction(request, actor);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error in bulk meeting action: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/meetings/upcoming?after={cursor}&size=20 - Get upcoming meetings
      */
     @GetMapping("/upcoming")
-    public ResponseEntity<?> getUpcomingMeetings(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getUpcomingMeetings(
+            CurrentActor actor,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            log.info("GET /api/meetings/upcoming - Fetching upcoming meetings");
-            List<MeetingResponse> meetings = meetingService.getUpcomingMeetings(authHeader);
-            return ResponseEntity.ok(meetings);
+            log.info("GET /api/meetings/upcoming - Fetching upcoming meetings (after: {}, size: {})", after, size);
+            return inbox(meetingService.getUpcomingMeetings(actor, after, size));
         } catch (Exception e) {
             log.error("Error fetching upcoming meetings: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
         }
     }
 
+    /**
+     * GET /api/meetings/availability?investorId=&startupId=&start=&durationMinutes=60 - Check a slot for conflicts
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<?> checkAvailability(
+            CurrentActor actor,
+            @RequestParam(required = false) UUID investorId,
+            @RequestParam(required = false) UUID startupId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(defaultValue = "60") int durationMinutes) {
+        try {
+            log.info("GET /api/meetings/availability - Checking slot {} ({} min)", start, durationMinutes);
+            AvailabilityResponse response = meetingService.checkAvailability(
+                    investorId, startupId, start, durationMinutes, actor);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error checking availability: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/meetings/suggest-slots?connectionId=&from=&to=&duration=60&limit=10 - Free slots common to both parties
+     */
+    @GetMapping("/suggest-slots")
+    public ResponseEntity<?> suggestSlots(
+            CurrentActor actor,
+            @RequestParam UUID connectionId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "60") int duration,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            log.info("GET /api/meetings/suggest-slots - Connection {} ({} -> {}, {} min)", connectionId, from, to, duration);
+            SlotSuggestionResponse response = meetingService.suggestSlots(connectionId, from, to, duration, limit, actor);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error suggesting slots: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/meetings/calendar.ics - iCalendar feed of the user's meetings (ETag / If-None-Match)
+     * Calendar apps cannot send headers: they pass ?token= with a calendar feed token
+     * (POST /calendar-token), which only reads this feed. The session token is not accepted there.
+     */
+    @GetMapping("/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getCalendar(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+            @RequestParam(required = false) String token,
+            WebRequest request) {
+        try {
+            log.info("GET /api/meetings/calendar.ics - Calendar feed");
+            CalendarFeed feed;
+            if (token != null) {
+                Optional<CalendarFeed> byToken = meetingService.getCalendarFeedByToken(token);
+                if (byToken.isEmpty()) {
+                    return calendarError(HttpStatus.NOT_FOUND, "Flux de calendrier introuvable");
+                }
+                feed = byToken.get();
+            } else if (authHeader != null) {
+                CurrentActor actor = currentActorResolver.create(authHeader);
+                currentActorResolver.authenticate(actor);
+                feed = meetingService.getCalendarFeed(actor);
+            } else {
+                throw new RuntimeException("Jeton d'authentification manquant");
+            }
+            if (request.checkNotModified(feed.etag())) {
+                return null;    // 304, the meetings are not read
+            }
+            StreamingResponseBody body = out -> meetingService.writeCalendar(feed, out);
+            return ResponseEntity.ok()
+                    .eTag(feed.etag())
+                    .contentType(CALENDAR)
+                    .body(body);
+        } catch (ResponseStatusException e) {
+            throw e;    // 401 / 503 from auth-service
+        } catch (Exception e) {
+            log.error("Error building calendar feed: {}", e.getMessage());
+            return calendarError(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * POST /api/meetings/calendar-token - Issue (or rotate) the token of the user's calendar feed URL
+     */
+    @PostMapping("/calendar-token")
+    public ResponseEntity<?> rotateCalendarToken(CurrentActor actor) {
+        try {
+            log.info("POST /api/meetings/calendar-token - Issuing calendar feed token");
+            CalendarTokenResponse response = meetingService.rotateCalendarToken(actor);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (Exception e) {
+            log.error("Error issuing calendar token: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
+        }
+    }
+
+    /**
+     * DELETE /api/meetings/calendar-token - Revoke the user's calendar feed token
+     */
+    @DeleteMapping("/calendar-token")
+    public ResponseEntity<?> revokeCalendarToken(CurrentActor actor) {
+        try {
+            log.info("DELETE /api/meetings/calendar-token - Revoking calendar feed token");
+            meetingService.revokeCalendarToken(actor);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            log.error("Error revoking calendar token: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
+        }
+    }
+
     /**
      * DELETE /api/meetings/{id}/cancel - Cancel meeting
      */
     @DeleteMapping("/{id}/cancel")
     public ResponseEntity<?> cancelMeeting(
             @PathVariable UUID id,
-            @RequestHeader("Authorization") String authHeader) {
+            CurrentActor actor) {
         try {
             log.info("DELETE /api/meetings/{}/cancel - Cancelling meeting", id);
-            MeetingResponse response = meetingService.cancelMeeting(id, authHeader);
+            MeetingResponse response = meetingService.cancelMeeting(id, actor);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error cancelling meeting: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
         }
     }
+
+    // the streaming handler needs ResponseEntity<StreamingResponseBody>: errors are streamed too
+    private static ResponseEntity<StreamingResponseBody> calendarError(HttpStatus status, String message) {
+        byte[] body = ("Erreur: " + message).getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.status(status)
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(out -> out.write(body));
+    }
+
+    // one bounded {content, nextCursor} page (size capped at KeysetCursor.MAX_PAGE_SIZE)
+    private static ResponseEntity<?> inbox(CursorPage<?> page) {
+        return ResponseEntity.ok(page);
+    }
 }
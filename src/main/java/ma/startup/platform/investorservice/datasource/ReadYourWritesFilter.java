@@ -0,0 +1,39 @@
+package ma.startup.platform.investorservice.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Binds the caller to the request thread and records successful writes for
+ * {@link ReadYourWritesTracker}
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReadYourWritesTracker tracker;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean writeRequest = !SAFE_METHODS.contains(request.getMethod());
+        tracker.begin(request.getHeader(HttpHeaders.AUTHORIZATION), writeRequest);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            // controllers report business errors as 4xx: nothing was written then
+            tracker.end(writeRequest && completed && response.getStatus() < 400);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ma.startup.platform.investorservice.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers which callers wrote recently so that their read-only transactions stay on
+ * the primary until the replica has had time to catch up (read-your-writes).
+ *
+ * A caller is identified by its Authorization header; the current caller is bound to
+ * the request thread by {@link ReadYourWritesFilter}.
+ */
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<String> CURRENT_CALLER = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> WRITE_REQUEST = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration stickiness) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickiness)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void begin(String caller, boolean writeRequest) {
+        CURRENT_CALLER.set(caller);
+        WRITE_REQUEST.set(writeRequest);
+    }
+
+    /**
+     * @param wrote whether the request completed a write (starts / extends the stickiness window)
+     */
+    public void end(boolean wrote) {
+        String caller = CURRENT_CALLER.get();
+        if (wrote && caller != null) {
+            recentWriters.put(caller, Boolean.TRUE);
+        }
+        CURRENT_CALLER.remove();
+        WRITE_REQUEST.remove();
+    }
+
+    /**
+     * True while serving a write request, or a caller that wrote within the stickiness window
+     */
+    public boolean mustReadFromPrimary() {
+        if (Boolean.TRUE.equals(WRITE_REQUEST.get())) {
+            return true;
+        }
+        String caller = CURRENT_CALLER.get();
+        return caller != null && recentWriters.getIfPresent(caller) != null;
+    }
+}
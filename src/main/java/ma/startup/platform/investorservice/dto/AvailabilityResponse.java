@@ -0,0 +1,33 @@
+package ma.startup.platform.investorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.startup.platform.investorservice.repository.projection.MeetingSlot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityResponse {
+
+    private boolean available;
+    private List<BusySlot> conflicts;    // open meetings overlapping the requested slot
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BusySlot {
+        private LocalDateTime start;
+        private LocalDateTime end;
+    }
+
+    public static AvailabilityResponse fromSlots(List<MeetingSlot> slots) {
+        return new AvailabilityResponse(slots.isEmpty(), slots.stream()
+                .map(slot -> new BusySlot(slot.meetingDate(), slot.end()))
+                .collect(Collectors.toList()));
+    }
+}
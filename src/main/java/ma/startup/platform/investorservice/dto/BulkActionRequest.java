@@ -0,0 +1,27 @@
+package ma.startup.platform.investorservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.startup.platform.investorservice.enums.BulkAction;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkActionRequest {
+
+    public static final int MAX_IDS = 100;
+
+    @NotEmpty(message = "La liste des identifiants est obligatoire")
+    @Size(max = MAX_IDS, message = "Au plus " + MAX_IDS + " identifiants par requête")
+    private List<@NotNull UUID> ids;
+
+    @NotNull(message = "L'action est obligatoire")
+    private BulkAction action;
+}
@@ -0,0 +1,41 @@
+package ma.startup.platform.investorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.startup.platform.investorservice.enums.BulkAction;
+import ma.startup.platform.investorservice.enums.BulkOutcome;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkActionResponse {
+
+    private BulkAction action;
+    private int applied;
+    private List<Result> results;    // one per requested id, in request order
+
+    // 'whyNot' classifies the ids the update left untouched
+    public static BulkActionResponse of(BulkAction action, Collection<UUID> ids, Set<UUID> applied,
+                                        Function<UUID, BulkOutcome> whyNot) {
+        List<Result> results = ids.stream()
+                .map(id -> new Result(id, applied.contains(id) ? BulkOutcome.APPLIED : whyNot.apply(id)))
+                .collect(Collectors.toList());
+        return new BulkActionResponse(action, applied.size(), results);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private UUID id;
+        private BulkOutcome outcome;
+    }
+}
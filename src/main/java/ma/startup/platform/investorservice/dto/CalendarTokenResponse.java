@@ -0,0 +1,14 @@
+package ma.startup.platform.investorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarTokenResponse {
+
+    private String token;       // shown once: only its hash is stored
+    private String feedPath;    // /api/meetings/calendar.ics?token=...
+}
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import ma.startup.platform.investorservice.enums.ConnectionRequest;
 import ma.startup.platform.investorservice.enums.ConnectionStatus;
+import ma.startup.platform.investorservice.repository.projection.ConnectionRequestView;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -37,4 +38,17 @@ public class ConnectionResponse {
                 null // investor details can be added separately
         );
     }
+
+    public static ConnectionResponse fromView(ConnectionRequestView view) {
+        return new ConnectionResponse(
+                view.id(),
+                view.startupId(),
+                view.investorId(),
+                view.message(),
+                view.statut(),
+                view.createdAt(),
+                view.respondedAt(),
+                null
+        );
+    }
 }
@@ -0,0 +1,21 @@
+package ma.startup.platform.investorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One bounded page of an inbox list: the content and the cursor of the next page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+
+    // "timestamp,id" of the last row, to pass as ?after= for the next page; null on the last page
+    private String nextCursor;
+}
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import ma.startup.platform.investorservice.enums.InvestorType;
 import ma.startup.platform.investorservice.model.Investor;
+import ma.startup.platform.investorservice.repository.projection.InvestorView;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -46,4 +47,22 @@ public class InvestorResponse {
                 investor.getCreatedAt()
         );
     }
+
+    public static InvestorResponse fromView(InvestorView view) {
+        return new InvestorResponse(
+                view.id(),
+                view.userId(),
+                view.nom(),
+                view.type(),
+                view.secteursInterets(),
+                view.montantMin(),
+                view.montantMax(),
+                view.description(),
+                view.localisation(),
+                view.portfolio(),
+                view.siteWeb(),
+                view.email(),
+                view.createdAt()
+        );
+    }
 }
@@ -0,0 +1,26 @@
+package ma.startup.platform.investorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of GET /api/investors?after=... (no COUNT query)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvestorSliceResponse {
+
+    private List<InvestorResponse> content;
+    private int size;
+    private boolean hasNext;
+
+    // "createdAt,id" of the last row, to pass as ?after= for the next slice
+    private String nextCursor;
+
+    // approximate number of investors (planner statistics), only when requested
+    private Long totalEstimate;
+}
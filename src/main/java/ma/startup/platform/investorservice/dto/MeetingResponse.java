@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import ma.startup.platform.investorservice.enums.MeetingStatus;
 import ma.startup.platform.investorservice.model.Meeting;
+import ma.startup.platform.investorservice.repository.projection.MeetingView;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -19,6 +20,7 @@ public class MeetingResponse {
     private UUID investorId;
     private UUID startupId;
     private LocalDateTime meetingDate;
+    private Integer durationMinutes;
     private String meetingPlace;
     private String message;
     private MeetingStatus statut;
@@ -55,6 +57,7 @@ public class MeetingResponse {
                 meeting.getInvestorId(),
                 meeting.getStartupId(),
                 meeting.getMeetingDate(),
+                meeting.getDurationMinutes(),
                 meeting.getMeetingPlace(),
                 meeting.getMessage(),
                 meeting.getStatus(),
@@ -64,4 +67,22 @@ public class MeetingResponse {
                 null
         );
     }
+
+    public static MeetingResponse fromView(MeetingView view) {
+        return new MeetingResponse(
+                view.id(),
+                view.connectionId(),
+                view.investorId(),
+                view.startupId(),
+                view.meetingDate(),
+                view.durationMinutes(),
+                view.meetingPlace(),
+                view.message(),
+                view.status(),
+                view.createdAt(),
+                view.respondedAt(),
+                null,
+                null
+        );
+    }
 }
@@ -1,10 +1,13 @@
 package ma.startup.platform.investorservice.dto;
 
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import ma.startup.platform.investorservice.model.Meeting;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -21,6 +24,13 @@ public class ScheduleMeetingRequest {
     @Future(message = "La date de réunion doit être dans le futur")
     private LocalDateTime meetingDate;
 
+    // default 60 when scheduling, unchanged when rescheduling
+    @Min(value = Meeting.MIN_DURATION_MINUTES,
+            message = "La durée minimale d'une réunion est de " + Meeting.MIN_DURATION_MINUTES + " minutes")
+    @Max(value = Meeting.MAX_DURATION_MINUTES,
+            message = "La durée maximale d'une réunion est de " + Meeting.MAX_DURATION_MINUTES + " minutes")
+    private Integer durationMinutes;
+
     @NotNull(message = "Le lieu de réunion est obligatoire")
     private String meetingPlace;
 
@@ -0,0 +1,34 @@
+package ma.startup.platform.investorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotSuggestionResponse {
+
+    private UUID connectionId;
+    private int durationMinutes;
+    private List<Slot> slots;    // earliest first
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Slot {
+        private LocalDateTime start;
+        private LocalDateTime end;
+    }
+
+    public static SlotSuggestionResponse fromStarts(UUID connectionId, int durationMinutes, List<LocalDateTime> starts) {
+        return new SlotSuggestionResponse(connectionId, durationMinutes, starts.stream()
+                .map(start -> new Slot(start, start.plusMinutes(durationMinutes)))
+                .collect(Collectors.toList()));
+    }
+}
@@ -24,4 +24,5 @@ public class StartupDTO {
     private LocalDate dateCreation;
     private String localisation; // May not exist in actual Startup entity
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,7 @@
+package ma.startup.platform.investorservice.enums;
+
+public enum BulkAction {
+    ACCEPT,
+    REJECT,
+    CANCEL    // meetings only
+}
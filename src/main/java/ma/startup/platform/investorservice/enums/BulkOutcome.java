@@ -0,0 +1,8 @@
+package ma.startup.platform.investorservice.enums;
+
+public enum BulkOutcome {
+    APPLIED,            // Status changed
+    NOT_FOUND,          // No such id
+    NOT_YOURS,          // Belongs to another investor / startup
+    ALREADY_PROCESSED   // Not in a status the action applies to
+}
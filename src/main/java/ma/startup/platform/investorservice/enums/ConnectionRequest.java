@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ma.startup.platform.investorservice.enums.ConnectionStatus;
+import ma.startup.platform.investorservice.model.id.UuidV7;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -19,7 +20,7 @@ import java.util.UUID;
 public class ConnectionRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @Column(name = "startup_id", nullable = false)
@@ -36,7 +37,7 @@ public class ConnectionRequest {
     private ConnectionStatus statut = ConnectionStatus.PENDING;
 
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "responded_at")
@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ma.startup.platform.investorservice.enums.InvestorType;
+import ma.startup.platform.investorservice.model.id.UuidV7;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,13 +17,15 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "investors", schema = "investor_schema")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "investors")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Investor {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @Column(name = "user_id", nullable = false)
@@ -56,7 +61,7 @@ public class Investor {
     private String email;
 
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ma.startup.platform.investorservice.enums.MeetingStatus;
+import ma.startup.platform.investorservice.model.id.UuidV7;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -17,8 +18,12 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Meeting {
 
+    public static final int DEFAULT_DURATION_MINUTES = 60;
+    public static final int MIN_DURATION_MINUTES = 15;
+    public static final int MAX_DURATION_MINUTES = 480;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @Column(name = "connection_id", nullable = false)
@@ -33,6 +38,9 @@ public class Meeting {
     @Column(name = "meeting_date", nullable = false)
     private LocalDateTime meetingDate;
 
+    @Column(name = "duration_minutes", nullable = false)
+    private Integer durationMinutes = DEFAULT_DURATION_MINUTES;
+
     @Column(name = "meeting_place", length = 500)
     private String meetingPlace;
 
@@ -49,4 +57,9 @@ public class Meeting {
 
     @Column(name = "responded_at")
     private LocalDateTime respondedAt;
+
+    // end of the [meetingDate, end) slot checked by the overlap constraints
+    public LocalDateTime getEndDate() {
+        return meetingDate.plusMinutes(durationMinutes);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package ma.startup.platform.investorservice.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 UUIDv7: 48-bit Unix millis, 12-bit counter (rand_a), 62 random bits.
+ *
+ * Ids are strictly increasing within the JVM: the counter is bumped for ids issued in
+ * the same millisecond (or if the clock steps back) and carries into the timestamp
+ * when it overflows. New rows therefore land at the right edge of the primary key
+ * B-tree instead of on random pages. No database round trip is involved.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /** (unix millis << 12) | counter of the last issued id */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long state = LAST.updateAndGet(last -> Math.max(last + 1, now));
+
+        long millis = state >>> COUNTER_BITS;
+        long counter = state & ((1L << COUNTER_BITS) - 1);
+        long msb = (millis << 16) | 0x7000L | counter;
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,17 @@
+package ma.startup.platform.investorservice.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Default ReminderSink while no delivery channel is configured
+ */
+@Slf4j
+class LoggingReminderSink implements ReminderSink {
+
+    @Override
+    public void send(MeetingReminder reminder) {
+        log.info("Reminder: meeting {} (investor {}, startup {}) starts at {}, in {}",
+                reminder.meetingId(), reminder.investorId(), reminder.startupId(),
+                reminder.meetingDate(), reminder.leadTime());
+    }
+}
@@ -0,0 +1,17 @@
+package ma.startup.platform.investorservice.reminder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Due reminder: the meeting starts in 'leadTime'
+ */
+public record MeetingReminder(
+        UUID meetingId,
+        UUID investorId,
+        UUID startupId,
+        LocalDateTime meetingDate,
+        Duration leadTime
+) {
+}
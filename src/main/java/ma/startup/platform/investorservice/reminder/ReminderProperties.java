@@ -0,0 +1,26 @@
+package ma.startup.platform.investorservice.reminder;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reminders before ACCEPTED meetings (ReminderScheduler)
+ */
+@Data
+@ConfigurationProperties(prefix = "investor.reminder")
+public class ReminderProperties {
+
+    private boolean enabled = true;
+
+    /** A reminder is sent this long before the meeting starts, once per lead time */
+    private List<Duration> leadTimes = List.of(Duration.ofHours(24), Duration.ofHours(1));
+
+    /** Meetings starting within this window are held in memory; must exceed the longest lead time */
+    private Duration horizon = Duration.ofHours(48);
+
+    /** Rows read per refill query */
+    private int batchSize = 1000;
+}
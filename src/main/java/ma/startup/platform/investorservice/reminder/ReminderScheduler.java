@@ -0,0 +1,208 @@
+package ma.startup.platform.investorservice.reminder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.enums.MeetingStatus;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import ma.startup.platform.investorservice.repository.projection.MeetingView;
+import ma.startup.platform.investorservice.service.MeetingChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sends a reminder (ReminderSink) 'lead time' before each ACCEPTED meeting.
+ *
+ * Meetings starting within the horizon sit in a hierarchical TimingWheel of one-second
+ * ticks, so holding hundreds of thousands of reminders costs no polling: a refill reads
+ * the newly entered part of the horizon in keyset pages, MeetingChangedEvent (which carries
+ * the meeting's new date and status) keeps the wheel in step with accept / reschedule /
+ * cancel, and each tick only touches due buckets.
+ * Every instance holds every reminder: a due one is claimed with a conditional write
+ * (meeting_reminder_claims, V12) before being sent, so it goes out once across instances,
+ * and not at all if a concurrent change made it stale.
+ */
+@Component
+@EnableConfigurationProperties(ReminderProperties.class)
+@Slf4j
+public class ReminderScheduler {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 64;
+    private static final int LEVELS = 4;    // 64^4 one-second ticks: about 194 days
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final MeetingRepository meetingRepository;
+    private final ReminderProperties properties;
+    private final ReminderSink sink;
+    private final Counter sent;
+
+    // guarded by 'this'
+    private final TimingWheel<MeetingReminder> wheel = new TimingWheel<>(WHEEL_SIZE, LEVELS, tick(LocalDateTime.now()));
+    private final Map<UUID, List<TimingWheel.Timeout<MeetingReminder>>> byMeeting = new HashMap<>();
+    private LocalDateTime loadedUntil;
+
+    public ReminderScheduler(MeetingRepository meetingRepository,
+                             ReminderProperties properties,
+                             ObjectProvider<ReminderSink> sinks,
+                             MeterRegistry meterRegistry) {
+        this.meetingRepository = meetingRepository;
+        this.properties = properties;
+        this.sink = sinks.getIfAvailable(LoggingReminderSink::new);
+        this.sent = Counter.builder("investor.reminder.sent").register(meterRegistry);
+        Gauge.builder("investor.reminder.pending", this, ReminderScheduler::pending)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${investor.reminder.refill-interval:10m}", initialDelayString = "${investor.reminder.initial-delay:5s}")
+    public void refill() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(properties.getHorizon());
+        LocalDateTime from;
+        synchronized (this) {
+            from = loadedUntil == null || loadedUntil.isBefore(now) ? now : loadedUntil;
+            // claimed up front: changes to meetings in (from, until] apply while the pages are read
+            loadedUntil = until;
+        }
+        try {
+            int loaded = load(from, until);
+            log.debug("Reminders refilled up to {}: {} meetings, {} pending", until, loaded, pending());
+        } catch (Exception e) {
+            synchronized (this) {
+                loadedUntil = from;
+            }
+            log.warn("Reminder refill failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${investor.reminder.tick:1s}")
+    public void fireDue() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<MeetingReminder> due;
+        synchronized (this) {
+            due = wheel.advance(tick(LocalDateTime.now()));
+            for (MeetingReminder reminder : due) {
+                forgetFired(reminder.meetingId());
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        // claimed before sending: the meeting must still be ACCEPTED at the same date, and every
+        // instance holds the same reminder but only one claim succeeds
+        for (MeetingReminder reminder : due) {
+            LocalDateTime remindAt = reminder.meetingDate().minus(reminder.leadTime());
+            try {
+                if (meetingRepository.claimReminder(reminder.meetingId(), reminder.meetingDate(), remindAt) == 0) {
+                    continue;
+                }
+                sink.send(reminder);
+                sent.increment();
+            } catch (Exception e) {
+                log.warn("Reminder for meeting {} not sent: {}", reminder.meetingId(), e.getMessage());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMeetingChanged(MeetingChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            if (event.status() != MeetingStatus.ACCEPTED) {
+                cancel(event.meetingId());
+            } else {
+                replace(event.meetingId(), event.investorId(), event.startupId(), event.meetingDate());
+            }
+        }
+    }
+
+    synchronized int pending() {
+        return wheel.size();
+    }
+
+    // ACCEPTED meetings starting in (from, until], read in (meetingDate, id) keyset pages
+    int load(LocalDateTime from, LocalDateTime until) {
+        LocalDateTime at = from;
+        UUID id = FIRST_ID;
+        int loaded = 0;
+        while (true) {
+            List<MeetingView> page = meetingRepository.findAcceptedStartingUntil(
+                    at, id, until, PageRequest.of(0, properties.getBatchSize()));
+            synchronized (this) {
+                for (MeetingView meeting : page) {
+                    replace(meeting.id(), meeting.investorId(), meeting.startupId(), meeting.meetingDate());
+                }
+            }
+            loaded += page.size();
+            if (page.size() < properties.getBatchSize()) {
+                return loaded;
+            }
+            MeetingView last = page.get(page.size() - 1);
+            at = last.meetingDate();
+            id = last.id();
+        }
+    }
+
+    // guarded by 'this'; reminders already in the past are not sent late
+    private void replace(UUID meetingId, UUID investorId, UUID startupId, LocalDateTime meetingDate) {
+        cancel(meetingId);
+        if (loadedUntil == null || meetingDate.isAfter(loadedUntil)) {
+            return;    // the refill that reaches it schedules it
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<TimingWheel.Timeout<MeetingReminder>> timeouts = new ArrayList<>();
+        for (Duration leadTime : properties.getLeadTimes()) {
+            LocalDateTime at = meetingDate.minus(leadTime);
+            if (at.isAfter(now)) {
+                timeouts.add(wheel.schedule(
+                        new MeetingReminder(meetingId, investorId, startupId, meetingDate, leadTime), tick(at)));
+            }
+        }
+        if (!timeouts.isEmpty()) {
+            byMeeting.put(meetingId, timeouts);
+        }
+    }
+
+    private void cancel(UUID meetingId) {
+        List<TimingWheel.Timeout<MeetingReminder>> timeouts = byMeeting.remove(meetingId);
+        if (timeouts != null) {
+            timeouts.forEach(wheel::cancel);
+        }
+    }
+
+    private void forgetFired(UUID meetingId) {
+        List<TimingWheel.Timeout<MeetingReminder>> timeouts = byMeeting.get(meetingId);
+        if (timeouts != null) {
+            timeouts.removeIf(timeout -> !timeout.isPending());
+            if (timeouts.isEmpty()) {
+                byMeeting.remove(meetingId);
+            }
+        }
+    }
+
+    private static long tick(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / TICK_MILLIS;
+    }
+}
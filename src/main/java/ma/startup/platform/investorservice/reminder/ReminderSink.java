@@ -0,0 +1,10 @@
+package ma.startup.platform.investorservice.reminder;
+
+/**
+ * Delivers due reminders (mail, push, message broker...). Declare a bean to replace the
+ * default, which only logs them.
+ */
+public interface ReminderSink {
+
+    void send(MeetingReminder reminder);
+}
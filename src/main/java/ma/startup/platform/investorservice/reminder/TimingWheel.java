@@ -0,0 +1,176 @@
+package ma.startup.platform.investorservice.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: 'levels' wheels of 'wheelSize' buckets, a bucket of level L
+ * spanning wheelSize^L ticks. A timeout goes to the lowest level whose current revolution
+ * contains its deadline, so schedule and cancel are O(1) (doubly linked buckets). Each tick
+ * fires one level-0 bucket and, every wheelSize^L ticks, cascades one level-L bucket down.
+ * Deadlines beyond the top revolution wait in an overflow bucket, re-examined once per top
+ * revolution.
+ *
+ * Not thread-safe: callers synchronize.
+ */
+final class TimingWheel<T> {
+
+    static final class Timeout<T> {
+
+        private final T payload;
+        private final long deadline;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T payload, long deadline) {
+            this.payload = payload;
+            this.deadline = deadline;
+        }
+
+        T payload() {
+            return payload;
+        }
+
+        boolean isPending() {
+            return bucket != null;
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private Timeout<T> head;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            detach(timeout);
+        }
+
+        // empties the bucket; the caller walks the returned chain with 'next' before detaching
+        Timeout<T> takeAll() {
+            Timeout<T> first = head;
+            head = null;
+            return first;
+        }
+    }
+
+    private final int wheelSize;
+    private final int levels;
+    private final long[] spans;            // spans[L] = wheelSize^L ticks, spans[levels] = top revolution
+    private final Bucket<T>[][] wheels;
+    private final Bucket<T> overflow = new Bucket<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(int wheelSize, int levels, long startTick) {
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.spans = new long[levels + 1];
+        this.wheels = new Bucket[levels][wheelSize];
+        spans[0] = 1;
+        for (int level = 0; level < levels; level++) {
+            spans[level + 1] = spans[level] * wheelSize;
+            for (int i = 0; i < wheelSize; i++) {
+                wheels[level][i] = new Bucket<>();
+            }
+        }
+        this.currentTick = startTick;
+    }
+
+    /**
+     * Fires at the first advance reaching deadlineTick (at the next one if already past)
+     */
+    Timeout<T> schedule(T payload, long deadlineTick) {
+        Timeout<T> timeout = new Timeout<>(payload, Math.max(deadlineTick, currentTick + 1));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isPending()) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to 'tick' and returns the payloads whose deadline was reached
+     */
+    List<T> advance(long tick) {
+        List<T> expired = new ArrayList<>();
+        while (currentTick < tick) {
+            if (size == 0) {
+                currentTick = tick;
+                break;
+            }
+            currentTick++;
+            if (currentTick % spans[levels] == 0) {
+                cascade(overflow);
+            }
+            for (int level = levels - 1; level >= 1; level--) {
+                if (currentTick % spans[level] == 0) {
+                    cascade(wheels[level][(int) (currentTick / spans[level] % wheelSize)]);
+                }
+            }
+            Timeout<T> timeout = wheels[0][(int) (currentTick % wheelSize)].takeAll();
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                detach(timeout);
+                expired.add(timeout.payload);
+                size--;
+                timeout = next;
+            }
+        }
+        return expired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void cascade(Bucket<T> bucket) {
+        Timeout<T> timeout = bucket.takeAll();
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        for (int level = 0; level < levels; level++) {
+            if (timeout.deadline / spans[level + 1] == currentTick / spans[level + 1]) {
+                wheels[level][(int) (timeout.deadline / spans[level] % wheelSize)].add(timeout);
+                return;
+            }
+        }
+        overflow.add(timeout);
+    }
+
+    private static <T> void detach(Timeout<T> timeout) {
+        timeout.bucket = null;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+}
@@ -0,0 +1,164 @@
+package ma.startup.platform.investorservice.replica;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.client.StartupServiceClient;
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory replica of the startup catalog, kept in sync with an incremental
+ * "changed since" pull (watermark on updatedAt/createdAt) and conditional requests
+ * (If-None-Match / If-Modified-Since).
+ *
+ * Matching and enrichment read from here when the replica is enabled and fresh enough,
+ * and fall back to live startup-service reads otherwise.
+ */
+@Component
+@EnableConfigurationProperties(StartupReplicaProperties.class)
+@Slf4j
+public class StartupCatalogReplica {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final StartupServiceClient startupServiceClient;
+    private final StartupReplicaProperties properties;
+
+    private volatile Map<UUID, StartupDTO> startups = new ConcurrentHashMap<>();
+    private volatile LocalDateTime watermark = BEGINNING;
+    private volatile String etag;
+    private volatile String lastModified;
+    private volatile Instant lastSync;
+    private volatile Instant lastFullSync;
+
+    public StartupCatalogReplica(StartupServiceClient startupServiceClient,
+                                 StartupReplicaProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.startupServiceClient = startupServiceClient;
+        this.properties = properties;
+        Gauge.builder("investor.replica.startups.lag.seconds", this, StartupCatalogReplica::lagSeconds)
+                .description("Time since the startup replica last synced successfully")
+                .register(meterRegistry);
+        Gauge.builder("investor.replica.startups.size", this, replica -> replica.startups.size())
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${investor.replica.sync-interval:30s}", initialDelayString = "${investor.replica.initial-delay:5s}")
+    public void sync() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        boolean full = lastFullSync == null
+                || Duration.between(lastFullSync, Instant.now()).compareTo(properties.getFullResyncInterval()) > 0;
+        try {
+            if (full) {
+                fullSync();
+            } else {
+                incrementalSync();
+            }
+        } catch (Exception e) {
+            log.warn("Startup replica sync failed (lag {}s): {}", (long) lagSeconds(), e.getMessage());
+        }
+    }
+
+    private void fullSync() {
+        ResponseEntity<List<StartupDTO>> response = startupServiceClient.getStartupsChangedSince(
+                BEGINNING.toString(), properties.getServiceToken(), null, null);
+        Map<UUID, StartupDTO> fresh = new ConcurrentHashMap<>();
+        LocalDateTime newWatermark = apply(fresh, response.getBody(), BEGINNING);
+        startups = fresh;
+        watermark = newWatermark;
+        remember(response);
+        lastFullSync = lastSync;
+        log.info("Startup replica fully synced: {} startups, watermark {}", fresh.size(), newWatermark);
+    }
+
+    private void incrementalSync() {
+        String since = watermark.minus(properties.getOverlap()).toString();
+        ResponseEntity<List<StartupDTO>> response;
+        try {
+            response = startupServiceClient.getStartupsChangedSince(since, properties.getServiceToken(), etag, lastModified);
+        } catch (FeignException e) {
+            if (e.status() == HttpStatus.NOT_MODIFIED.value()) {
+                lastSync = Instant.now();
+                return;
+            }
+            throw e;
+        }
+        if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            lastSync = Instant.now();
+            return;
+        }
+        watermark = apply(startups, response.getBody(), watermark);
+        remember(response);
+        log.debug("Startup replica synced since {}: {} changes", since,
+                response.getBody() == null ? 0 : response.getBody().size());
+    }
+
+    private LocalDateTime apply(Map<UUID, StartupDTO> target, List<StartupDTO> changes, LocalDateTime currentWatermark) {
+        LocalDateTime newWatermark = currentWatermark;
+        if (changes == null) {
+            return newWatermark;
+        }
+        for (StartupDTO startup : changes) {
+            if (startup.getId() == null) {
+                continue;
+            }
+            target.put(startup.getId(), startup);
+            LocalDateTime changedAt = startup.getUpdatedAt() != null ? startup.getUpdatedAt() : startup.getCreatedAt();
+            if (changedAt != null && changedAt.isAfter(newWatermark)) {
+                newWatermark = changedAt;
+            }
+        }
+        return newWatermark;
+    }
+
+    private void remember(ResponseEntity<?> response) {
+        etag = response.getHeaders().getFirst(HttpHeaders.ETAG);
+        lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        lastSync = Instant.now();
+    }
+
+    /**
+     * Replica is used only once fully loaded and while its lag stays under max-lag
+     */
+    public boolean isReady() {
+        return properties.isEnabled() && lastFullSync != null
+                && Duration.between(lastSync, Instant.now()).compareTo(properties.getMaxLag()) <= 0;
+    }
+
+    public List<StartupDTO> getAllStartups(String authHeader) {
+        if (isReady()) {
+            return new ArrayList<>(startups.values());
+        }
+        return startupServiceClient.getAllStartups(authHeader);
+    }
+
+    public StartupDTO getStartupById(UUID startupId, String authHeader) {
+        if (isReady()) {
+            StartupDTO startup = startups.get(startupId);
+            if (startup != null) {
+                return startup;
+            }
+        }
+        return startupServiceClient.getStartupById(startupId, authHeader);
+    }
+
+    private double lagSeconds() {
+        Instant synced = lastSync;
+        return synced == null ? -1 : Duration.between(synced, Instant.now()).toMillis() / 1000.0;
+    }
+}
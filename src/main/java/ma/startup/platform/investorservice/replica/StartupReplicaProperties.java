@@ -0,0 +1,28 @@
+package ma.startup.platform.investorservice.replica;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Local read model of the startup-service catalog
+ */
+@Data
+@ConfigurationProperties(prefix = "investor.replica")
+public class StartupReplicaProperties {
+
+    private boolean enabled = false;
+
+    /** Token sent by the background sync (service account of investor-service) */
+    private String serviceToken;
+
+    /** Re-read this much before the watermark to absorb clock skew and late commits */
+    private Duration overlap = Duration.ofMinutes(1);
+
+    /** Periodic full pull, which also drops startups deleted upstream */
+    private Duration fullResyncInterval = Duration.ofHours(6);
+
+    /** Beyond this lag reads go back to startup-service */
+    private Duration maxLag = Duration.ofMinutes(5);
+}
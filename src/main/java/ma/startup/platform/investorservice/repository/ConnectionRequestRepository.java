@@ -2,11 +2,18 @@ package ma.startup.platform.investorservice.repository;
 
 import ma.startup.platform.investorservice.enums.ConnectionRequest;
 import ma.startup.platform.investorservice.enums.ConnectionStatus;
+import ma.startup.platform.investorservice.repository.projection.ConnectionRequestView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,9 +21,28 @@ import java.util.UUID;
 @Repository
 public interface ConnectionRequestRepository extends JpaRepository<ConnectionRequest, UUID> {
 
-    List<ConnectionRequest> findByStartupIdOrderByCreatedAtDesc(UUID startupId);
+    // JPQL constructor expression for ConnectionRequestView
+    String VIEW = "new ma.startup.platform.investorservice.repository.projection.ConnectionRequestView("
+            + "cr.id, cr.startupId, cr.investorId, cr.message, cr.statut, cr.createdAt, cr.respondedAt)";
 
-    List<ConnectionRequest> findByInvestorIdOrderByCreatedAtDesc(UUID investorId);
+    // Inboxes, newest first, paged by the (createdAt, id) of the previous page's last row
+    @Query("SELECT " + VIEW + " FROM ConnectionRequest cr WHERE cr.investorId = :investorId "
+            + "AND cr.statut IN :statuts AND (cr.createdAt, cr.id) < (:createdAt, :id) "
+            + "ORDER BY cr.createdAt DESC, cr.id DESC")
+    Slice<ConnectionRequestView> findPageForInvestor(@Param("investorId") UUID investorId,
+                                                     @Param("statuts") Collection<ConnectionStatus> statuts,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") UUID id,
+                                                     Pageable pageable);
+
+    @Query("SELECT " + VIEW + " FROM ConnectionRequest cr WHERE cr.startupId = :startupId "
+            + "AND cr.statut IN :statuts AND (cr.createdAt, cr.id) < (:createdAt, :id) "
+            + "ORDER BY cr.createdAt DESC, cr.id DESC")
+    Slice<ConnectionRequestView> findPageForStartup(@Param("startupId") UUID startupId,
+                                                    @Param("statuts") Collection<ConnectionStatus> statuts,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") UUID id,
+                                                    Pageable pageable);
 
     List<ConnectionRequest> findByStartupIdAndStatut(UUID startupId, ConnectionStatus statut);
 
@@ -24,11 +50,51 @@ public interface ConnectionRequestRepository extends JpaRepository<ConnectionReq
 
     Optional<ConnectionRequest> findByStartupIdAndInvestorIdAndStatut(UUID startupId, UUID investorId, ConnectionStatus statut);
 
-    @Query("SELECT cr FROM ConnectionRequest cr WHERE cr.startupId = :startupId AND cr.statut = 'ACCEPTED'")
-    List<ConnectionRequest> findActiveConnectionsForStartup(@Param("startupId") UUID startupId);
+    boolean existsByStartupIdAndInvestorIdAndStatut(UUID startupId, UUID investorId, ConnectionStatus statut);
 
-    @Query("SELECT cr FROM ConnectionRequest cr WHERE cr.investorId = :investorId AND cr.statut = 'ACCEPTED'")
-    List<ConnectionRequest> findActiveConnectionsForInvestor(@Param("investorId") UUID investorId);
+    // Investor answers a PENDING request in one statement: no row if missing, not theirs or already answered
+    @Transactional
+    @Query(value = """
+            UPDATE investor_schema.connection_requests SET statut = :statut, responded_at = now()
+            WHERE id = :id AND investor_id = :investorId AND statut = 'PENDING'
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<ConnectionRequest> respondIfPending(@Param("id") UUID id,
+                                                 @Param("investorId") UUID investorId,
+                                                 @Param("statut") String statut);
 
-    boolean existsByStartupIdAndInvestorIdAndStatut(UUID startupId, UUID investorId, ConnectionStatus statut);
+    // Bulk version of respondIfPending: ids of the requests actually answered
+    @Transactional
+    @Query(value = """
+            UPDATE investor_schema.connection_requests SET statut = :statut, responded_at = now()
+            WHERE id IN (:ids) AND investor_id = :investorId AND statut = 'PENDING'
+            RETURNING id
+            """, nativeQuery = true)
+    List<UUID> respondAllIfPending(@Param("ids") Collection<UUID> ids,
+                                   @Param("investorId") UUID investorId,
+                                   @Param("statut") String statut);
+
+    // Archival (ArchivalJob): oldest REJECTED request created before the cutoff
+    @Query("SELECT MIN(cr.createdAt) FROM ConnectionRequest cr WHERE cr.statut = 'REJECTED' AND cr.createdAt < :cutoff")
+    LocalDateTime findOldestRejectedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // Moves one batch of REJECTED requests created before the cutoff to connection_requests_archive
+    // (batch selected once: as an IN (...) subquery it could be re-run, and skip the rows just deleted)
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH batch AS MATERIALIZED (
+                SELECT id FROM investor_schema.connection_requests
+                WHERE statut = 'REJECTED' AND created_at < :cutoff
+                ORDER BY created_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED),
+            moved AS (
+                DELETE FROM investor_schema.connection_requests cr USING batch WHERE cr.id = batch.id
+                RETURNING cr.id, cr.startup_id, cr.investor_id, cr.message, cr.statut, cr.created_at, cr.responded_at)
+            INSERT INTO investor_schema.connection_requests_archive
+                (id, startup_id, investor_id, message, statut, created_at, responded_at)
+            SELECT id, startup_id, investor_id, message, statut, created_at, responded_at FROM moved
+            """, nativeQuery = true)
+    int archiveRejectedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
@@ -1,14 +1,21 @@
 package ma.startup.platform.investorservice.repository;
 
+import jakarta.persistence.QueryHint;
 import ma.startup.platform.investorservice.enums.InvestorType;
 import ma.startup.platform.investorservice.model.Investor;
+import ma.startup.platform.investorservice.repository.projection.InvestorView;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,14 +23,39 @@ import java.util.UUID;
 @Repository
 public interface InvestorRepository extends JpaRepository<Investor, UUID> {
 
+    // JPQL constructor expression for InvestorView
+    String VIEW = "new ma.startup.platform.investorservice.repository.projection.InvestorView("
+            + "i.id, i.userId, i.nom, i.type, i.secteursInterets, i.montantMin, i.montantMax, "
+            + "i.description, i.localisation, i.portfolio, i.siteWeb, i.email, i.createdAt)";
+
+    // query cache: invalidated by Hibernate whenever the investors table is written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Investor> findByUserId(UUID userId);
 
     List<Investor> findByType(InvestorType type);
 
     Page<Investor> findAll(Pageable pageable);
 
-    @Query("SELECT i FROM Investor i WHERE i.secteursInterets LIKE %:secteur%")
-    List<Investor> findBySecteur(@Param("secteur") String secteur);
+    // List endpoints read projections: only the response columns, no managed entities
+    Page<InvestorView> findAllProjectedBy(Pageable pageable);
+
+    // Keyset pagination, newest first: (createdAt, id) of the previous slice's last row
+    @Query("SELECT " + VIEW + " FROM Investor i WHERE (i.createdAt, i.id) < (:createdAt, :id) "
+            + "ORDER BY i.createdAt DESC, i.id DESC")
+    Slice<InvestorView> findNewestFirstAfter(@Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") UUID id,
+                                             Pageable pageable);
+
+    // planner estimate (-1 if the table was never analyzed), no table scan
+    @Query(value = "SELECT reltuples::bigint FROM pg_class WHERE oid = 'investor_schema.investors'::regclass",
+            nativeQuery = true)
+    long estimateCount();
+
+    // one query for the investors referenced by a list of connections / meetings
+    List<InvestorView> findProjectedByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT " + VIEW + " FROM Investor i WHERE i.secteursInterets LIKE %:secteur%")
+    List<InvestorView> findBySecteur(@Param("secteur") String secteur);
 
     @Query("SELECT i FROM Investor i WHERE i.localisation = :localisation")
     List<Investor> findByLocalisation(@Param("localisation") String localisation);
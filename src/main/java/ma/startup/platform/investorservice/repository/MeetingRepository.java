@@ -1,22 +1,56 @@
 package ma.startup.platform.investorservice.repository;
 
+import jakarta.persistence.QueryHint;
 import ma.startup.platform.investorservice.enums.MeetingStatus;
 import ma.startup.platform.investorservice.model.Meeting;
+import ma.startup.platform.investorservice.repository.projection.CalendarFeedOwner;
+import ma.startup.platform.investorservice.repository.projection.MeetingParticipants;
+import ma.startup.platform.investorservice.repository.projection.MeetingSlot;
+import ma.startup.platform.investorservice.repository.projection.MeetingView;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface MeetingRepository extends JpaRepository<Meeting, UUID> {
 
-    List<Meeting> findByInvestorIdOrderByMeetingDateDesc(UUID investorId);
+    // JPQL constructor expression for MeetingView
+    String VIEW = "new ma.startup.platform.investorservice.repository.projection.MeetingView("
+            + "m.id, m.connectionId, m.investorId, m.startupId, m.meetingDate, m.durationMinutes, m.meetingPlace, "
+            + "m.message, m.status, m.createdAt, m.respondedAt)";
 
-    List<Meeting> findByStartupIdOrderByMeetingDateDesc(UUID startupId);
+    // Inboxes, latest meeting date first, paged by the (meetingDate, id) of the previous page's last row
+    @Query("SELECT " + VIEW + " FROM Meeting m WHERE m.investorId = :investorId "
+            + "AND m.status IN :statuses AND (m.meetingDate, m.id) < (:meetingDate, :id) "
+            + "ORDER BY m.meetingDate DESC, m.id DESC")
+    Slice<MeetingView> findPageForInvestor(@Param("investorId") UUID investorId,
+                                           @Param("statuses") Collection<MeetingStatus> statuses,
+                                           @Param("meetingDate") LocalDateTime meetingDate,
+                                           @Param("id") UUID id,
+                                           Pageable pageable);
+
+    @Query("SELECT " + VIEW + " FROM Meeting m WHERE m.startupId = :startupId "
+            + "AND m.status IN :statuses AND (m.meetingDate, m.id) < (:meetingDate, :id) "
+            + "ORDER BY m.meetingDate DESC, m.id DESC")
+    Slice<MeetingView> findPageForStartup(@Param("startupId") UUID startupId,
+                                          @Param("statuses") Collection<MeetingStatus> statuses,
+                                          @Param("meetingDate") LocalDateTime meetingDate,
+                                          @Param("id") UUID id,
+                                          Pageable pageable);
 
     @Query("SELECT m FROM Meeting m WHERE m.investorId = :investorId AND m.status = :status")
     List<Meeting> findByInvestorIdAndStatut(@Param("investorId") UUID investorId,
@@ -28,15 +62,206 @@ public interface MeetingRepository extends JpaRepository<Meeting, UUID> {
 
     List<Meeting> findByConnectionId(UUID connectionId);
 
-    @Query("SELECT m FROM Meeting m WHERE m.investorId = :investorId AND m.meetingDate >= :now AND m.status = 'ACCEPTED' ORDER BY m.meetingDate ASC")
-    List<Meeting> findUpcomingMeetingsForInvestor(@Param("investorId") UUID investorId,
-                                                  @Param("now") LocalDateTime now);
+    // Upcoming meetings, soonest first, paged by the (meetingDate, id) of the previous page's last row
+    @Query("SELECT " + VIEW + " FROM Meeting m WHERE m.investorId = :investorId AND m.meetingDate >= :now "
+            + "AND m.status = 'ACCEPTED' AND (m.meetingDate, m.id) > (:meetingDate, :id) "
+            + "ORDER BY m.meetingDate ASC, m.id ASC")
+    Slice<MeetingView> findUpcomingMeetingsForInvestor(@Param("investorId") UUID investorId,
+                                                       @Param("now") LocalDateTime now,
+                                                       @Param("meetingDate") LocalDateTime meetingDate,
+                                                       @Param("id") UUID id,
+                                                       Pageable pageable);
+
+    @Query("SELECT " + VIEW + " FROM Meeting m WHERE m.startupId = :startupId AND m.meetingDate >= :now "
+            + "AND m.status = 'ACCEPTED' AND (m.meetingDate, m.id) > (:meetingDate, :id) "
+            + "ORDER BY m.meetingDate ASC, m.id ASC")
+    Slice<MeetingView> findUpcomingMeetingsForStartup(@Param("startupId") UUID startupId,
+                                                      @Param("now") LocalDateTime now,
+                                                      @Param("meetingDate") LocalDateTime meetingDate,
+                                                      @Param("id") UUID id,
+                                                      Pageable pageable);
+
+    // Conditional transitions in one statement: no row if missing, not the caller's or not in the expected status
+    @Transactional
+    @Query(value = """
+            UPDATE investor_schema.meetings SET status = :status, responded_at = now()
+            WHERE id = :id AND startup_id = :startupId AND status = 'PENDING'
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<Meeting> respondIfPending(@Param("id") UUID id,
+                                       @Param("startupId") UUID startupId,
+                                       @Param("status") String status);
+
+    @Transactional
+    @Query(value = """
+            UPDATE investor_schema.meetings SET status = 'CANCELLED', responded_at = now()
+            WHERE id = :id AND investor_id = :investorId AND status IN ('PENDING', 'ACCEPTED')
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<Meeting> cancelForInvestor(@Param("id") UUID id, @Param("investorId") UUID investorId);
+
+    @Transactional
+    @Query(value = """
+            UPDATE investor_schema.meetings SET status = 'CANCELLED', responded_at = now()
+            WHERE id = :id AND startup_id = :startupId AND status IN ('PENDING', 'ACCEPTED')
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<Meeting> cancelForStartup(@Param("id") UUID id, @Param("startupId") UUID startupId);
+
+    // Bulk versions of the transitions above: the meetings actually changed, with their participants
+    @Transactional
+    @Query(value = """
+            UPDATE investor_schema.meetings SET status = :status, responded_at = now()
+            WHERE id IN (:ids) AND startup_id = :startupId AND status = 'PENDING'
+            RETURNING id, investor_id AS "investorId", startup_id AS "startupId", meeting_date AS "meetingDate"
+            """, nativeQuery = true)
+    List<MeetingParticipants> respondAllIfPending(@Param("ids") Collection<UUID> ids,
+                                                  @Param("startupId") UUID startupId,
+                                                  @Param("status") String status);
+
+    @Transactional
+    @Query(value = """
+            UPDATE investor_schema.meetings SET status = 'CANCELLED', responded_at = now()
+            WHERE id IN (:ids) AND investor_id = :investorId AND status IN ('PENDING', 'ACCEPTED')
+            RETURNING id, investor_id AS "investorId", startup_id AS "startupId", meeting_date AS "meetingDate"
+            """, nativeQuery = true)
+    List<MeetingParticipants> cancelAllForInvestor(@Param("ids") Collection<UUID> ids, @Param("investorId") UUID investorId);
+
+    @Transactional
+    @Query(value = """
+            UPDATE investor_schema.meetings SET status = 'CANCELLED', responded_at = now()
+            WHERE id IN (:ids) AND startup_id = :startupId AND status IN ('PENDING', 'ACCEPTED')
+            RETURNING id, investor_id AS "investorId", startup_id AS "startupId", meeting_date AS "meetingDate"
+            """, nativeQuery = true)
+    List<MeetingParticipants> cancelAllForStartup(@Param("ids") Collection<UUID> ids, @Param("startupId") UUID startupId);
+
+    // Reminder (ReminderScheduler): claims the reminder due at :remindAt for a single instance, if the
+    // meeting is still ACCEPTED at :meetingDate; 0 when stale or already claimed by another instance
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO investor_schema.meeting_reminder_claims AS c (meeting_id, reminded_at)
+            SELECT m.id, :remindAt FROM investor_schema.meetings m
+            WHERE m.id = :id AND m.status = 'ACCEPTED' AND m.meeting_date = :meetingDate
+            ON CONFLICT (meeting_id) DO UPDATE SET reminded_at = EXCLUDED.reminded_at
+            WHERE c.reminded_at < EXCLUDED.reminded_at
+            """, nativeQuery = true)
+    int claimReminder(@Param("id") UUID id,
+                      @Param("meetingDate") LocalDateTime meetingDate,
+                      @Param("remindAt") LocalDateTime remindAt);
+
+    // Occupied slots of one participant (MeetingIntervalIndex): open meetings starting after :from
+    @Query("SELECT new ma.startup.platform.investorservice.repository.projection.MeetingSlot("
+            + "m.id, m.meetingDate, m.durationMinutes) FROM Meeting m WHERE m.investorId = :investorId "
+            + "AND m.status IN ('PENDING', 'ACCEPTED') AND m.meetingDate >= :from ORDER BY m.meetingDate")
+    List<MeetingSlot> findOpenSlotsForInvestor(@Param("investorId") UUID investorId,
+                                               @Param("from") LocalDateTime from);
+
+    @Query("SELECT new ma.startup.platform.investorservice.repository.projection.MeetingSlot("
+            + "m.id, m.meetingDate, m.durationMinutes) FROM Meeting m WHERE m.startupId = :startupId "
+            + "AND m.status IN ('PENDING', 'ACCEPTED') AND m.meetingDate >= :from ORDER BY m.meetingDate")
+    List<MeetingSlot> findOpenSlotsForStartup(@Param("startupId") UUID startupId,
+                                              @Param("from") LocalDateTime from);
+
+    // Calendar feed: every meeting of the participant but REJECTED ones, read through a cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + VIEW + " FROM Meeting m WHERE m.investorId = :investorId AND m.status <> 'REJECTED' "
+            + "ORDER BY m.meetingDate, m.id")
+    Stream<MeetingView> streamCalendarForInvestor(@Param("investorId") UUID investorId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + VIEW + " FROM Meeting m WHERE m.startupId = :startupId AND m.status <> 'REJECTED' "
+            + "ORDER BY m.meetingDate, m.id")
+    Stream<MeetingView> streamCalendarForStartup(@Param("startupId") UUID startupId);
+
+    // Change counter of the participant's meetings (V9 triggers); empty until their first meeting
+    @Query(value = "SELECT version FROM investor_schema.meeting_feed_versions WHERE participant_id = :participantId",
+            nativeQuery = true)
+    Optional<Long> findFeedVersion(@Param("participantId") UUID participantId);
+
+    // Calendar feed token (V13): issues or replaces the owner's token
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO investor_schema.calendar_feed_tokens (owner_id, investor, token_hash)
+            VALUES (:ownerId, :investor, :tokenHash)
+            ON CONFLICT (owner_id) DO UPDATE SET token_hash = EXCLUDED.token_hash, created_at = now()
+            """, nativeQuery = true)
+    int saveCalendarToken(@Param("ownerId") UUID ownerId,
+                          @Param("investor") boolean investor,
+                          @Param("tokenHash") byte[] tokenHash);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM investor_schema.calendar_feed_tokens WHERE owner_id = :ownerId", nativeQuery = true)
+    int deleteCalendarToken(@Param("ownerId") UUID ownerId);
+
+    // Feed a calendar token reads, with its change counter; empty for an unknown or revoked token
+    @Query(value = """
+            SELECT t.investor AS investor, t.owner_id AS "ownerId", COALESCE(v.version, 0) AS version
+            FROM investor_schema.calendar_feed_tokens t
+            LEFT JOIN investor_schema.meeting_feed_versions v ON v.participant_id = t.owner_id
+            WHERE t.token_hash = :tokenHash
+            """, nativeQuery = true)
+    Optional<CalendarFeedOwner> findCalendarFeedByToken(@Param("tokenHash") byte[] tokenHash);
+
+    // Reminders (ReminderScheduler): ACCEPTED meetings after (:meetingDate, :id) and up to :until, soonest first
+    @Query("SELECT " + VIEW + " FROM Meeting m WHERE m.status = 'ACCEPTED' "
+            + "AND (m.meetingDate, m.id) > (:meetingDate, :id) AND m.meetingDate <= :until "
+            + "ORDER BY m.meetingDate, m.id")
+    List<MeetingView> findAcceptedStartingUntil(@Param("meetingDate") LocalDateTime meetingDate,
+                                                @Param("id") UUID id,
+                                                @Param("until") LocalDateTime until,
+                                                Pageable pageable);
+
+    // Auto-completion (MeetingCompletionJob): one batch of ACCEPTED meetings that ended by :now (batch selected once)
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH batch AS MATERIALIZED (
+                SELECT id FROM investor_schema.meetings
+                WHERE status = 'ACCEPTED' AND meeting_date < :now
+                  AND meeting_date + duration_minutes * interval '1 minute' <= :now
+                ORDER BY meeting_date
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED)
+            UPDATE investor_schema.meetings m SET status = 'COMPLETED'
+            FROM batch WHERE m.id = batch.id
+            """, nativeQuery = true)
+    int completeEndedBy(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    // End of the oldest ACCEPTED meeting already over (completion lag)
+    @Query(value = """
+            SELECT MIN(meeting_date + duration_minutes * interval '1 minute') FROM investor_schema.meetings
+            WHERE status = 'ACCEPTED' AND meeting_date < :now
+              AND meeting_date + duration_minutes * interval '1 minute' <= :now
+            """, nativeQuery = true)
+    LocalDateTime findOldestEndedAcceptedBy(@Param("now") LocalDateTime now);
 
-    @Query("SELECT m FROM Meeting m WHERE m.startupId = :startupId AND m.meetingDate >= :now AND m.status = 'ACCEPTED' ORDER BY m.meetingDate ASC")
-    List<Meeting> findUpcomingMeetingsForStartup(@Param("startupId") UUID startupId,
-                                                 @Param("now") LocalDateTime now);
+    // Archival (ArchivalJob): oldest closed (REJECTED, CANCELLED, COMPLETED) meeting before the cutoff
+    @Query("SELECT MIN(m.meetingDate) FROM Meeting m WHERE m.status IN ('REJECTED', 'CANCELLED', 'COMPLETED') "
+            + "AND m.meetingDate < :cutoff")
+    LocalDateTime findOldestClosedBefore(@Param("cutoff") LocalDateTime cutoff);
 
-    @Query("SELECT COUNT(m) > 0 FROM Meeting m WHERE m.connectionId = :connectionId AND m.status = :status")
-    boolean existsByConnectionIdAndStatut(@Param("connectionId") UUID connectionId,
-                                          @Param("status") MeetingStatus status);
+    // Moves one batch of closed meetings dated before the cutoff to meetings_archive (batch selected once)
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH batch AS MATERIALIZED (
+                SELECT id FROM investor_schema.meetings
+                WHERE status IN ('REJECTED', 'CANCELLED', 'COMPLETED') AND meeting_date < :cutoff
+                ORDER BY meeting_date
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED),
+            moved AS (
+                DELETE FROM investor_schema.meetings m USING batch WHERE m.id = batch.id
+                RETURNING m.id, m.connection_id, m.investor_id, m.startup_id, m.meeting_date, m.duration_minutes,
+                          m.meeting_place, m.message, m.status, m.created_at, m.responded_at)
+            INSERT INTO investor_schema.meetings_archive
+                (id, connection_id, investor_id, startup_id, meeting_date, duration_minutes,
+                 meeting_place, message, status, created_at, responded_at)
+            SELECT id, connection_id, investor_id, startup_id, meeting_date, duration_minutes,
+                   meeting_place, message, status, created_at, responded_at FROM moved
+            """, nativeQuery = true)
+    int archiveClosedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
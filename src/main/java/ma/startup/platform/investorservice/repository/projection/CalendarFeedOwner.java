@@ -0,0 +1,13 @@
+package ma.startup.platform.investorservice.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Owner of the calendar feed a feed token reads, with the change counter of their meetings
+ */
+public record CalendarFeedOwner(
+        Boolean investor,
+        UUID ownerId,
+        Long version
+) {
+}
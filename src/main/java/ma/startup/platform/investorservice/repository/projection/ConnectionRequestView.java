@@ -0,0 +1,20 @@
+package ma.startup.platform.investorservice.repository.projection;
+
+import ma.startup.platform.investorservice.enums.ConnectionStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only connection request row for list endpoints
+ */
+public record ConnectionRequestView(
+        UUID id,
+        UUID startupId,
+        UUID investorId,
+        String message,
+        ConnectionStatus statut,
+        LocalDateTime createdAt,
+        LocalDateTime respondedAt
+) {
+}
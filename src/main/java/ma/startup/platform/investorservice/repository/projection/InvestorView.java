@@ -0,0 +1,27 @@
+package ma.startup.platform.investorservice.repository.projection;
+
+import ma.startup.platform.investorservice.enums.InvestorType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only investor row for list endpoints (only the columns of InvestorResponse)
+ */
+public record InvestorView(
+        UUID id,
+        UUID userId,
+        String nom,
+        InvestorType type,
+        String secteursInterets,
+        BigDecimal montantMin,
+        BigDecimal montantMax,
+        String description,
+        String localisation,
+        String portfolio,
+        String siteWeb,
+        String email,
+        LocalDateTime createdAt
+) {
+}
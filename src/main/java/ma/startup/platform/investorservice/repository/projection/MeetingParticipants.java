@@ -0,0 +1,15 @@
+package ma.startup.platform.investorservice.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Meeting changed by a bulk update, with the participants whose agendas it affects
+ */
+public record MeetingParticipants(
+        UUID id,
+        UUID investorId,
+        UUID startupId,
+        LocalDateTime meetingDate
+) {
+}
@@ -0,0 +1,18 @@
+package ma.startup.platform.investorservice.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Time slot [meetingDate, end) taken by an open (PENDING / ACCEPTED) meeting
+ */
+public record MeetingSlot(
+        UUID id,
+        LocalDateTime meetingDate,
+        Integer durationMinutes
+) {
+
+    public LocalDateTime end() {
+        return meetingDate.plusMinutes(durationMinutes);
+    }
+}
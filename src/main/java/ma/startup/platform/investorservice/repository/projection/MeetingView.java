@@ -0,0 +1,24 @@
+package ma.startup.platform.investorservice.repository.projection;
+
+import ma.startup.platform.investorservice.enums.MeetingStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only meeting row for list endpoints
+ */
+public record MeetingView(
+        UUID id,
+        UUID connectionId,
+        UUID investorId,
+        UUID startupId,
+        LocalDateTime meetingDate,
+        Integer durationMinutes,
+        String meetingPlace,
+        String message,
+        MeetingStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime respondedAt
+) {
+}
@@ -0,0 +1,81 @@
+package ma.startup.platform.investorservice.security;
+
+import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.client.StartupServiceClient;
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.model.Investor;
+import ma.startup.platform.investorservice.repository.InvestorRepository;
+
+import java.util.Optional;
+
+/**
+ * Caller of the current request: the auth-service user plus its investor or startup profile.
+ * Each part is resolved lazily and at most once per request.
+ */
+public class CurrentActor {
+
+    public static final String ROLE_INVESTOR = "INVESTOR";
+    public static final String ROLE_STARTUP = "STARTUP";
+
+    private final String authHeader;
+    private final AuthServiceClient authServiceClient;
+    private final StartupServiceClient startupServiceClient;
+    private final InvestorRepository investorRepository;
+
+    private UserDTO user;
+    private Optional<Investor> investor;
+    private StartupDTO startup;
+
+    public CurrentActor(String authHeader,
+                        AuthServiceClient authServiceClient,
+                        StartupServiceClient startupServiceClient,
+                        InvestorRepository investorRepository) {
+        this.authHeader = authHeader;
+        this.authServiceClient = authServiceClient;
+        this.startupServiceClient = startupServiceClient;
+        this.investorRepository = investorRepository;
+    }
+
+    /**
+     * Raw Authorization header, forwarded to downstream services
+     */
+    public String getAuthHeader() {
+        return authHeader;
+    }
+
+    public UserDTO getUser() {
+        if (user == null) {
+            user = authServiceClient.getCurrentUser(authHeader);
+        }
+        return user;
+    }
+
+    public boolean isInvestor() {
+        return ROLE_INVESTOR.equals(getUser().getRole());
+    }
+
+    public boolean isStartup() {
+        return ROLE_STARTUP.equals(getUser().getRole());
+    }
+
+    /**
+     * Investor profile of the current user, if any
+     */
+    public Optional<Investor> getInvestor() {
+        if (investor == null) {
+            investor = investorRepository.findByUserId(getUser().getId());
+        }
+        return investor;
+    }
+
+    /**
+     * Startup profile of the current user (remote call to startup-service)
+     */
+    public StartupDTO getStartup() {
+        if (startup == null) {
+            startup = startupServiceClient.getMyStartup(authHeader);
+        }
+        return startup;
+    }
+}
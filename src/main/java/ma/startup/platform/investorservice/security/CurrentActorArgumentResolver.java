@@ -0,0 +1,91 @@
+package ma.startup.platform.investorservice.security;
+
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.client.StartupServiceClient;
+import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.repository.InvestorRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Injects the request-scoped {@link CurrentActor} into controller methods.
+ * The Feign clients are looked up lazily: they depend on the MVC infrastructure
+ * this resolver is registered with.
+ *
+ * The caller's identity is checked before the controller runs, and fails closed: 401 when
+ * auth-service refuses the token, 503 when it cannot be asked (error, timeout, open circuit).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CurrentActorArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String ATTRIBUTE = CurrentActor.class.getName();
+
+    private final ObjectProvider<AuthServiceClient> authServiceClient;
+    private final ObjectProvider<StartupServiceClient> startupServiceClient;
+    private final InvestorRepository investorRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CurrentActor.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) throws Exception {
+        Object existing = webRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (existing != null) {
+            return existing;
+        }
+        String authHeader = webRequest.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null) {
+            throw new MissingRequestHeaderException(HttpHeaders.AUTHORIZATION, parameter);
+        }
+        CurrentActor actor = create(authHeader);
+        authenticate(actor);
+        webRequest.setAttribute(ATTRIBUTE, actor, RequestAttributes.SCOPE_REQUEST);
+        return actor;
+    }
+
+    /**
+     * Resolves the caller's user, or throws 401 / 503
+     */
+    public void authenticate(CurrentActor actor) {
+        UserDTO user;
+        try {
+            user = actor.getUser();
+        } catch (FeignException e) {
+            if (e.status() >= 400 && e.status() < 500) {
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Jeton invalide ou expiré");
+            }
+            log.warn("auth-service unavailable: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Service d'authentification indisponible");
+        } catch (RuntimeException e) {
+            log.warn("auth-service unavailable: {}", e.toString());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Service d'authentification indisponible");
+        }
+        if (user == null || user.getId() == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Jeton invalide ou expiré");
+        }
+    }
+
+    public CurrentActor create(String authHeader) {
+        return new CurrentActor(authHeader, authServiceClient.getObject(), startupServiceClient.getObject(), investorRepository);
+    }
+}
@@ -0,0 +1,173 @@
+package ma.startup.platform.investorservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import ma.startup.platform.investorservice.repository.projection.MeetingView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Agenda behind GET /api/meetings/upcoming: the first upcoming ACCEPTED meetings of each
+ * investor and startup, soonest first. Pages inside the cached part are served from memory,
+ * later ones from the database.
+ *
+ * Each agenda keeps the change counter of the participant's meetings it was loaded at
+ * (meeting_feed_versions, bumped by the V9 triggers on every write from any instance) and is
+ * only served while the counter has not moved: one primary-key lookup per read. Entries are
+ * also evicted after every local commit touching the participant's meetings
+ * (MeetingChangedEvent) and expire when their first meeting starts, so an agenda never
+ * carries a meeting that has begun. For the read-your-writes window after a change, loads
+ * are not kept: with a read replica, they could still see the agenda as it was before.
+ */
+@Component
+@Slf4j
+public class AgendaCache {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private record Participant(boolean investor, UUID id) {
+    }
+
+    // 'complete' when every upcoming meeting of the participant is in 'meetings';
+    // 'version' is the participant's meeting_feed_versions counter read before loading them
+    private record Agenda(List<MeetingView> meetings, boolean complete, long version) {
+    }
+
+    private final MeetingRepository meetingRepository;
+    private final int meetingsPerAgenda;
+    private final Cache<Participant, Agenda> agendas;
+    private final Cache<Participant, Boolean> recentlyChanged;
+
+    public AgendaCache(MeetingRepository meetingRepository,
+                       @Value("${investor.agenda-cache.max-size:10000}") long maxSize,
+                       @Value("${investor.agenda-cache.ttl:10m}") Duration ttl,
+                       @Value("${investor.agenda-cache.meetings-per-agenda:100}") int meetingsPerAgenda,
+                       @Value("${investor.datasource.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+        this.meetingRepository = meetingRepository;
+        this.meetingsPerAgenda = meetingsPerAgenda;
+        this.agendas = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilFirstMeeting(ttl))
+                .build();
+        this.recentlyChanged = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+    }
+
+    Slice<MeetingView> upcomingForInvestor(UUID investorId, LocalDateTime now, KeysetCursor cursor, Pageable limit) {
+        return upcoming(new Participant(true, investorId), now, cursor, limit);
+    }
+
+    Slice<MeetingView> upcomingForStartup(UUID startupId, LocalDateTime now, KeysetCursor cursor, Pageable limit) {
+        return upcoming(new Participant(false, startupId), now, cursor, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMeetingChanged(MeetingChangedEvent event) {
+        changed(new Participant(true, event.investorId()));
+        changed(new Participant(false, event.startupId()));
+    }
+
+    private Slice<MeetingView> upcoming(Participant participant, LocalDateTime now, KeysetCursor cursor, Pageable limit) {
+        Agenda agenda = agenda(participant, now);
+
+        int size = limit.getPageSize();
+        List<MeetingView> page = new ArrayList<>(size + 1);
+        for (MeetingView meeting : agenda.meetings()) {
+            if (page.size() > size) {
+                break;
+            }
+            if (!meeting.meetingDate().isBefore(now) && compare(meeting, cursor) > 0) {
+                page.add(meeting);
+            }
+        }
+        if (page.size() <= size && !agenda.complete()) {
+            // the page may continue past the cached part of the agenda
+            return load(participant, now, cursor, limit);
+        }
+        boolean hasNext = page.size() > size;
+        return new SliceImpl<>(hasNext ? page.subList(0, size) : page, limit, hasNext);
+    }
+
+    private Slice<MeetingView> load(Participant participant, LocalDateTime now, KeysetCursor cursor, Pageable limit) {
+        return participant.investor()
+                ? meetingRepository.findUpcomingMeetingsForInvestor(participant.id(), now, cursor.at(), cursor.id(), limit)
+                : meetingRepository.findUpcomingMeetingsForStartup(participant.id(), now, cursor.at(), cursor.id(), limit);
+    }
+
+    private Agenda agenda(Participant participant, LocalDateTime now) {
+        long version = meetingRepository.findFeedVersion(participant.id()).orElse(0L);
+        Agenda agenda = agendas.getIfPresent(participant);
+        if (agenda != null && agenda.version() == version) {
+            return agenda;
+        }
+        Pageable first = PageRequest.of(0, meetingsPerAgenda);
+        Slice<MeetingView> meetings = participant.investor()
+                ? meetingRepository.findUpcomingMeetingsForInvestor(participant.id(), now, now, FIRST_ID, first)
+                : meetingRepository.findUpcomingMeetingsForStartup(participant.id(), now, now, FIRST_ID, first);
+        agenda = new Agenda(List.copyOf(meetings.getContent()), !meetings.hasNext(), version);
+
+        // kept unless a change came in meanwhile (checked after the put: a change marks, then evicts)
+        if (recentlyChanged.getIfPresent(participant) == null) {
+            agendas.put(participant, agenda);
+            if (recentlyChanged.getIfPresent(participant) != null) {
+                agendas.invalidate(participant);
+            }
+        }
+        return agenda;
+    }
+
+    private void changed(Participant participant) {
+        recentlyChanged.put(participant, Boolean.TRUE);
+        agendas.invalidate(participant);
+    }
+
+    // (meetingDate, id) order of the queries: PostgreSQL compares uuids as unsigned bytes
+    private static int compare(MeetingView meeting, KeysetCursor cursor) {
+        int byDate = meeting.meetingDate().compareTo(cursor.at());
+        if (byDate != 0) {
+            return byDate;
+        }
+        int byHigh = Long.compareUnsigned(meeting.id().getMostSignificantBits(), cursor.id().getMostSignificantBits());
+        return byHigh != 0 ? byHigh
+                : Long.compareUnsigned(meeting.id().getLeastSignificantBits(), cursor.id().getLeastSignificantBits());
+    }
+
+    // ttl, or until the first meeting starts if sooner
+    private record UntilFirstMeeting(Duration ttl) implements Expiry<Participant, Agenda> {
+
+        @Override
+        public long expireAfterCreate(Participant participant, Agenda agenda, long currentTime) {
+            if (agenda.meetings().isEmpty()) {
+                return ttl.toNanos();
+            }
+            Duration untilFirst = Duration.between(LocalDateTime.now(), agenda.meetings().get(0).meetingDate());
+            return Math.max(0, Math.min(ttl.toNanos(), untilFirst.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(Participant participant, Agenda agenda, long currentTime, long currentDuration) {
+            return expireAfterCreate(participant, agenda, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Participant participant, Agenda agenda, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ma.startup.platform.investorservice.service;
+
+import java.util.UUID;
+
+/**
+ * Owner of a calendar feed (an investor or a startup) and the change counter of their meetings
+ */
+public record CalendarFeed(boolean investor, UUID ownerId, long version) {
+
+    // bump when the VEVENT layout changes, so cached feeds are refetched
+    private static final String FORMAT = "ics1";
+
+    /**
+     * Strong ETag: the feed only depends on the owner's meetings
+     */
+    public String etag() {
+        return "\"" + FORMAT + "-" + ownerId + "-" + version + "\"";
+    }
+}
@@ -3,19 +3,31 @@ package ma.startup.platform.investorservice.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import ma.startup.platform.investorservice.client.AuthServiceClient;
-import ma.startup.platform.investorservice.client.StartupServiceClient;
 import ma.startup.platform.investorservice.dto.*;
+import ma.startup.platform.investorservice.enums.BulkOutcome;
 import ma.startup.platform.investorservice.enums.ConnectionRequest;
 import ma.startup.platform.investorservice.enums.ConnectionStatus;
 import ma.startup.platform.investorservice.model.Investor;
 import ma.startup.platform.investorservice.repository.ConnectionRequestRepository;
 import ma.startup.platform.investorservice.repository.InvestorRepository;
+import ma.startup.platform.investorservice.repository.projection.ConnectionRequestView;
+import ma.startup.platform.investorservice.repository.projection.InvestorView;
+import ma.startup.platform.investorservice.security.CurrentActor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -24,31 +36,27 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ConnectionService {
 
+    private static final Set<ConnectionStatus> ACTIVE = EnumSet.of(ConnectionStatus.ACCEPTED);
+
     private final ConnectionRequestRepository connectionRequestRepository;
     private final InvestorRepository investorRepository;
-    private final AuthServiceClient authServiceClient;
-    private final StartupServiceClient startupServiceClient;
 
     /**
      * Startup requests connection with an investor
      */
     @Transactional
-    public ConnectionResponse requestConnection(ConnectionRequestDTO request, String authHeader) {
+    public ConnectionResponse requestConnection(ConnectionRequestDTO request, CurrentActor actor) {
         log.info("Creating connection request to investor: {}", request.getInvestorId());
 
-        // Get current user (must be a startup)
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
-        // Verify user has startup role
-        if (!"STARTUP".equals(user.getRole())) {
+        // Verify the current user has startup role
+        if (!actor.isStartup()) {
             throw new RuntimeException("Seules les start-ups peuvent demander des connexions");
         }
 
-        // Get startup profile
         // Get startup profile
         StartupDTO startup;
         try {
-            startup = startupServiceClient.getStartupByUserId(user.getId(), authHeader);
+            startup = actor.getStartup();
         } catch (Exception e) {
             throw new RuntimeException("Profil startup non trouvé");
         }
@@ -57,25 +65,22 @@ public class ConnectionService {
         Investor investor = investorRepository.findById(request.getInvestorId())
                 .orElseThrow(() -> new RuntimeException("Investisseur non trouvé"));
 
-        // Check if connection already exists
-        boolean alreadyExists = connectionRequestRepository.existsByStartupIdAndInvestorIdAndStatut(
-                startup.getId(),
-                request.getInvestorId(),
-                ConnectionStatus.PENDING
-        );
-
-        if (alreadyExists) {
-            throw new RuntimeException("Une demande de connexion est déjà en attente pour cet investisseur");
-        }
-
-        // Create connection request
+        // Create connection request (a second PENDING one for this investor is refused by uq_connection_requests_pending)
         ConnectionRequest connectionRequest = new ConnectionRequest();
         connectionRequest.setStartupId(startup.getId());
         connectionRequest.setInvestorId(request.getInvestorId());
         connectionRequest.setMessage(request.getMessage());
         connectionRequest.setStatut(ConnectionStatus.PENDING);
 
-        ConnectionRequest saved = connectionRequestRepository.save(connectionRequest);
+        ConnectionRequest saved;
+        try {
+            saved = connectionRequestRepository.saveAndFlush(connectionRequest);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.violates(e, ConstraintViolations.PENDING_CONNECTION)) {
+                throw new RuntimeException("Une demande de connexion est déjà en attente pour cet investisseur");
+            }
+            throw e;
+        }
         log.info("Connection request created with ID: {}", saved.getId());
 
         // Build response with investor details
@@ -86,104 +91,95 @@ public class ConnectionService {
     }
 
     /**
-     * Get all connection requests received by an investor
+     * Get one page of the connection requests received by an investor
      */
-    public List<ConnectionResponse> getReceivedRequests(String authHeader) {
+    @Transactional(readOnly = true)
+    public CursorPage<ConnectionResponse> getReceivedRequests(CurrentActor actor, List<ConnectionStatus> statuts,
+                                                              String after, int size) {
         log.info("Fetching received connection requests");
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
         // Verify user has investor role
-        if (!"INVESTOR".equals(user.getRole())) {
+        if (!actor.isInvestor()) {
             throw new RuntimeException("Seuls les investisseurs peuvent consulter les demandes reçues");
         }
 
         // Get investor profile
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = actor.getInvestor()
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
-        List<ConnectionRequest> requests = connectionRequestRepository
-                .findByInvestorIdOrderByCreatedAtDesc(investor.getId());
+        KeysetCursor cursor = KeysetCursor.newestFirst(after);
+        Slice<ConnectionRequestView> requests = connectionRequestRepository.findPageForInvestor(
+                investor.getId(), orAll(statuts), cursor.at(), cursor.id(), KeysetCursor.limit(size));
 
-        return requests.stream()
-                .map(ConnectionResponse::fromConnectionRequest)
-                .collect(Collectors.toList());
+        return toPage(requests, requests.getContent().stream()
+                .map(ConnectionResponse::fromView)
+                .collect(Collectors.toList()));
     }
 
     /**
-     * Get all connection requests sent by a startup
+     * Get one page of the connection requests sent by a startup
      */
-    public List<ConnectionResponse> getSentRequests(String authHeader) {
+    @Transactional(readOnly = true)
+    public CursorPage<ConnectionResponse> getSentRequests(CurrentActor actor, List<ConnectionStatus> statuts,
+                                                          String after, int size) {
         log.info("Fetching sent connection requests");
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
         // Verify user has startup role
-        if (!"STARTUP".equals(user.getRole())) {
+        if (!actor.isStartup()) {
             throw new RuntimeException("Seules les start-ups peuvent consulter leurs demandes envoyées");
         }
 
-        // Get startup profile
         // Get startup profile
         StartupDTO startup;
         try {
-            startup = startupServiceClient.getStartupByUserId(user.getId(), authHeader);
+            startup = actor.getStartup();
         } catch (Exception e) {
             throw new RuntimeException("Profil startup non trouvé");
         }
 
-        List<ConnectionRequest> requests = connectionRequestRepository
-                .findByStartupIdOrderByCreatedAtDesc(startup.getId());
+        KeysetCursor cursor = KeysetCursor.newestFirst(after);
+        Slice<ConnectionRequestView> requests = connectionRequestRepository.findPageForStartup(
+                startup.getId(), orAll(statuts), cursor.at(), cursor.id(), KeysetCursor.limit(size));
+        if (!requests.hasContent()) {
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+
+        // Investor details, loaded in one query for the whole page
+        Set<UUID> investorIds = requests.getContent().stream()
+                .map(ConnectionRequestView::investorId)
+                .collect(Collectors.toSet());
+        Map<UUID, InvestorResponse> investors = investorRepository.findProjectedByIdIn(investorIds).stream()
+                .collect(Collectors.toMap(InvestorView::id, InvestorResponse::fromView));
 
-        return requests.stream()
+        return toPage(requests, requests.getContent().stream()
                 .map(req -> {
-                    ConnectionResponse response = ConnectionResponse.fromConnectionRequest(req);
-                    // Optionally add investor details
-                    investorRepository.findById(req.getInvestorId()).ifPresent(inv ->
-                            response.setInvestor(InvestorResponse.fromInvestor(inv))
-                    );
+                    ConnectionResponse response = ConnectionResponse.fromView(req);
+                    response.setInvestor(investors.get(req.investorId()));
                     return response;
                 })
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
      * Investor accepts a connection request
      */
     @Transactional
-    public ConnectionResponse acceptConnection(UUID requestId, String authHeader) {
+    public ConnectionResponse acceptConnection(UUID requestId, CurrentActor actor) {
         log.info("Accepting connection request: {}", requestId);
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
         // Verify user has investor role
-        if (!"INVESTOR".equals(user.getRole())) {
+        if (!actor.isInvestor()) {
             throw new RuntimeException("Seuls les investisseurs peuvent accepter des demandes");
         }
 
         // Get investor profile
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = actor.getInvestor()
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
-        // Get connection request
-        ConnectionRequest request = connectionRequestRepository.findById(requestId)
-                .orElseThrow(() -> new RuntimeException("Demande de connexion non trouvée"));
-
-        // Verify this request belongs to this investor
-        if (!request.getInvestorId().equals(investor.getId())) {
-            throw new RuntimeException("Cette demande ne vous appartient pas");
-        }
-
-        // Verify status is PENDING
-        if (request.getStatut() != ConnectionStatus.PENDING) {
-            throw new RuntimeException("Cette demande a déjà été traitée");
-        }
-
-        // Accept the request
-        request.setStatut(ConnectionStatus.ACCEPTED);
-        request.setRespondedAt(LocalDateTime.now());
-
-        ConnectionRequest updated = connectionRequestRepository.save(request);
+        // Accept the request if it is this investor's and still PENDING (single conditional UPDATE)
+        ConnectionRequest updated = connectionRequestRepository
+                .respondIfPending(requestId, investor.getId(), ConnectionStatus.ACCEPTED.name())
+                .orElseThrow(() -> transitionRefused(requestId, investor.getId()));
         log.info("Connection request accepted: {}", requestId);
 
         return ConnectionResponse.fromConnectionRequest(updated);
@@ -193,79 +189,134 @@ public class ConnectionService {
      * Investor rejects a connection request
      */
     @Transactional
-    public ConnectionResponse rejectConnection(UUID requestId, String authHeader) {
+    public ConnectionResponse rejectConnection(UUID requestId, CurrentActor actor) {
         log.info("Rejecting connection request: {}", requestId);
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
         // Verify user has investor role
-        if (!"INVESTOR".equals(user.getRole())) {
+        if (!actor.isInvestor()) {
             throw new RuntimeException("Seuls les investisseurs peuvent rejeter des demandes");
         }
 
         // Get investor profile
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = actor.getInvestor()
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
-        // Get connection request
-        ConnectionRequest request = connectionRequestRepository.findById(requestId)
-                .orElseThrow(() -> new RuntimeException("Demande de connexion non trouvée"));
+        // Reject the request if it is this investor's and still PENDING (single conditional UPDATE)
+        ConnectionRequest updated = connectionRequestRepository
+                .respondIfPending(requestId, investor.getId(), ConnectionStatus.REJECTED.name())
+                .orElseThrow(() -> transitionRefused(requestId, investor.getId()));
+        log.info("Connection request rejected: {}", requestId);
 
-        // Verify this request belongs to this investor
-        if (!request.getInvestorId().equals(investor.getId())) {
-            throw new RuntimeException("Cette demande ne vous appartient pas");
-        }
+        return ConnectionResponse.fromConnectionRequest(updated);
+    }
+
+    /**
+     * Investor accepts or rejects many connection requests at once
+     */
+    @Transactional
+    public BulkActionResponse bulkRespond(BulkActionRequest request, CurrentActor actor) {
+        log.info("Bulk {} of {} connection requests", request.getAction(), request.getIds().size());
 
-        // Verify status is PENDING
-        if (request.getStatut() != ConnectionStatus.PENDING) {
-            throw new RuntimeException("Cette demande a déjà été traitée");
+        // Verify user has investor role
+        if (!actor.isInvestor()) {
+            throw new RuntimeException("Seuls les investisseurs peuvent traiter des demandes");
         }
 
-        // Reject the request
-        request.setStatut(ConnectionStatus.REJECTED);
-        request.setRespondedAt(LocalDateTime.now());
+        // Get investor profile
+        Investor investor = actor.getInvestor()
+                .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
-        ConnectionRequest updated = connectionRequestRepository.save(request);
-        log.info("Connection request rejected: {}", requestId);
+        ConnectionStatus statut = switch (request.getAction()) {
+            case ACCEPT -> ConnectionStatus.ACCEPTED;
+            case REJECT -> ConnectionStatus.REJECTED;
+            default -> throw new RuntimeException("Action non supportée pour les demandes de connexion: "
+                    + request.getAction());
+        };
+
+        // One conditional UPDATE for all ids (this investor's PENDING requests only)
+        Set<UUID> ids = new LinkedHashSet<>(request.getIds());
+        Set<UUID> applied = new HashSet<>(
+                connectionRequestRepository.respondAllIfPending(ids, investor.getId(), statut.name()));
+
+        // Ids left untouched: one read to tell why
+        Map<UUID, ConnectionRequest> refused = new HashMap<>();
+        if (applied.size() < ids.size()) {
+            connectionRequestRepository.findAllById(ids.stream().filter(id -> !applied.contains(id)).toList())
+                    .forEach(req -> refused.put(req.getId(), req));
+        }
 
-        return ConnectionResponse.fromConnectionRequest(updated);
+        log.info("Bulk {}: {} of {} connection requests updated", request.getAction(), applied.size(), ids.size());
+
+        return BulkActionResponse.of(request.getAction(), ids, applied, id -> {
+            ConnectionRequest req = refused.get(id);
+            return req == null ? BulkOutcome.NOT_FOUND
+                    : !req.getInvestorId().equals(investor.getId()) ? BulkOutcome.NOT_YOURS
+                    : BulkOutcome.ALREADY_PROCESSED;
+        });
     }
 
     /**
-     * Get all active (accepted) connections for current user
+     * Get one page of the active (accepted) connections for current user
      */
-    public List<ConnectionResponse> getActiveConnections(String authHeader) {
+    @Transactional(readOnly = true)
+    public CursorPage<ConnectionResponse> getActiveConnections(CurrentActor actor, String after, int size) {
         log.info("Fetching active connections");
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        KeysetCursor cursor = KeysetCursor.newestFirst(after);
+        Pageable limit = KeysetCursor.limit(size);
 
-        List<ConnectionRequest> connections;
+        Slice<ConnectionRequestView> connections;
 
-        if ("STARTUP".equals(user.getRole())) {
+        if (actor.isStartup()) {
             // Get startup profile
             StartupDTO startup;
             try {
-                startup = startupServiceClient.getStartupByUserId(user.getId(), authHeader);
+                startup = actor.getStartup();
             } catch (Exception e) {
                 throw new RuntimeException("Profil startup non trouvé");
             }
 
-            connections = connectionRequestRepository.findActiveConnectionsForStartup(startup.getId());
+            connections = connectionRequestRepository.findPageForStartup(
+                    startup.getId(), ACTIVE, cursor.at(), cursor.id(), limit);
 
 
-        } else if ("INVESTOR".equals(user.getRole())) {
+        } else if (actor.isInvestor()) {
             // Get investor profile
-            Investor investor = investorRepository.findByUserId(user.getId())
+            Investor investor = actor.getInvestor()
                     .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
-            connections = connectionRequestRepository.findActiveConnectionsForInvestor(investor.getId());
+            connections = connectionRequestRepository.findPageForInvestor(
+                    investor.getId(), ACTIVE, cursor.at(), cursor.id(), limit);
 
         } else {
             throw new RuntimeException("Type d'utilisateur non valide");
         }
 
-        return connections.stream()
-                .map(ConnectionResponse::fromConnectionRequest)
-                .collect(Collectors.toList());
+        return toPage(connections, connections.getContent().stream()
+                .map(ConnectionResponse::fromView)
+                .collect(Collectors.toList()));
+    }
+
+    // The conditional UPDATE matched no row: find out why (extra read on the failure path only)
+    private RuntimeException transitionRefused(UUID requestId, UUID investorId) {
+        ConnectionRequest request = connectionRequestRepository.findById(requestId).orElse(null);
+        if (request == null) {
+            return new RuntimeException("Demande de connexion non trouvée");
+        }
+        if (!request.getInvestorId().equals(investorId)) {
+            return new RuntimeException("Cette demande ne vous appartient pas");
+        }
+        return new RuntimeException("Cette demande a déjà été traitée");
+    }
+
+    // no status filter means every status
+    private static Collection<ConnectionStatus> orAll(List<ConnectionStatus> statuts) {
+        return statuts == null || statuts.isEmpty() ? EnumSet.allOf(ConnectionStatus.class) : statuts;
+    }
+
+    private static CursorPage<ConnectionResponse> toPage(Slice<ConnectionRequestView> slice,
+                                                         List<ConnectionResponse> content) {
+        return new CursorPage<>(content,
+                KeysetCursor.after(slice, ConnectionRequestView::createdAt, ConnectionRequestView::id));
     }
 }
@@ -0,0 +1,36 @@
+package ma.startup.platform.investorservice.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Maps a failed insert/update back to the database constraint that refused it, so the
+ * services can rely on unique indexes instead of check-then-insert queries.
+ */
+final class ConstraintViolations {
+
+    // partial unique indexes (V6)
+    static final String PENDING_CONNECTION = "uq_connection_requests_pending";
+    static final String PENDING_MEETING = "uq_meetings_pending_connection";
+
+    // exclusion constraints on open meetings' time ranges (V7)
+    static final String INVESTOR_OVERLAP = "ex_meetings_investor_overlap";
+    static final String STARTUP_OVERLAP = "ex_meetings_startup_overlap";
+
+    private ConstraintViolations() {
+    }
+
+    static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                if (violation.getConstraintName() != null) {
+                    return violation.getConstraintName().endsWith(constraint);
+                }
+                // Hibernate leaves the name unset for exclusion violations (SQLState 23P01)
+                return violation.getSQLException() != null && violation.getSQLException().getMessage() != null
+                        && violation.getSQLException().getMessage().contains('"' + constraint + '"');
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,98 @@
+package ma.startup.platform.investorservice.service;
+
+import ma.startup.platform.investorservice.enums.MeetingStatus;
+import ma.startup.platform.investorservice.repository.projection.MeetingView;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * RFC 5545 text for the meetings calendar feed, one VEVENT at a time. Times are written in
+ * UTC, and only from the meeting row itself (no "now"), so the same meetings give the same bytes.
+ */
+final class ICalendarWriter {
+
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE = 75;
+
+    private final Writer out;
+
+    ICalendarWriter(Writer out) {
+        this.out = out;
+    }
+
+    void begin() throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//Startup Platform//Investor Service//FR");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:Réunions");
+    }
+
+    void event(MeetingView meeting) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + meeting.id() + "@investor-service");
+        line("DTSTAMP:" + utc(meeting.respondedAt() != null ? meeting.respondedAt() : meeting.createdAt()));
+        line("DTSTART:" + utc(meeting.meetingDate()));
+        line("DTEND:" + utc(meeting.meetingDate().plusMinutes(meeting.durationMinutes())));
+        line("SUMMARY:" + text("Réunion investisseur / start-up"));
+        if (meeting.meetingPlace() != null) {
+            line("LOCATION:" + text(meeting.meetingPlace()));
+        }
+        if (meeting.message() != null) {
+            line("DESCRIPTION:" + text(meeting.message()));
+        }
+        line("STATUS:" + status(meeting.status()));
+        line("END:VEVENT");
+    }
+
+    void end() throws IOException {
+        line("END:VCALENDAR");
+        out.flush();
+    }
+
+    private static String status(MeetingStatus status) {
+        return switch (status) {
+            case PENDING -> "TENTATIVE";
+            case CANCELLED, REJECTED -> "CANCELLED";
+            default -> "CONFIRMED";
+        };
+    }
+
+    // meeting dates are server-local times
+    private static String utc(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(UTC);
+    }
+
+    private static String text(String value) {
+        return value.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n");
+    }
+
+    // content lines longer than 75 octets (UTF-8) are folded: CRLF + one space
+    private void line(String content) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int length = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + length > MAX_LINE) {
+                out.write(CRLF + " ");
+                octets = 1;
+            }
+            out.write(content, i, Character.charCount(codePoint));
+            octets += length;
+            i += Character.charCount(codePoint);
+        }
+        out.write(CRLF);
+    }
+}
@@ -1,19 +1,25 @@
 package ma.startup.platform.investorservice.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import ma.startup.platform.investorservice.client.AuthServiceClient;
 import ma.startup.platform.investorservice.dto.CreateInvestorRequest;
 import ma.startup.platform.investorservice.dto.InvestorResponse;
+import ma.startup.platform.investorservice.dto.InvestorSliceResponse;
 import ma.startup.platform.investorservice.dto.UpdateInvestorRequest;
 import ma.startup.platform.investorservice.dto.UserDTO;
 import ma.startup.platform.investorservice.model.Investor;
 import ma.startup.platform.investorservice.repository.InvestorRepository;
+import ma.startup.platform.investorservice.repository.projection.InvestorView;
+import ma.startup.platform.investorservice.security.CurrentActor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -23,23 +29,27 @@ import java.util.stream.Collectors;
 @Slf4j
 public class InvestorService {
 
+    private static final String INVESTORS = "investors";
+
     private final InvestorRepository investorRepository;
-    private final AuthServiceClient authServiceClient;
+    private final Cache<String, Long> countEstimate = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
 
     @Transactional
-    public InvestorResponse createInvestor(CreateInvestorRequest request, String authHeader) {
+    public InvestorResponse createInvestor(CreateInvestorRequest request, CurrentActor actor) {
         log.info("Creating investor profile");
 
         // Get current user from auth service
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = actor.getUser();
 
         // Check if user already has an investor profile
-        if (investorRepository.findByUserId(user.getId()).isPresent()) {
+        if (actor.getInvestor().isPresent()) {
             throw new RuntimeException("Un profil investisseur existe déjà pour cet utilisateur");
         }
 
         // Check if user has INVESTOR role
-        if (!"INVESTOR".equals(user.getRole())) {
+        if (!actor.isInvestor()) {
             throw new RuntimeException("Seuls les utilisateurs avec le rôle INVESTOR peuvent créer un profil investisseur");
         }
 
@@ -62,22 +72,19 @@ public class InvestorService {
         return InvestorResponse.fromInvestor(saved);
     }
 
-    public InvestorResponse getMyInvestor(String authHeader) {
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
-        Investor investor = investorRepository.findByUserId(user.getId())
+    @Transactional(readOnly = true)
+    public InvestorResponse getMyInvestor(CurrentActor actor) {
+        Investor investor = actor.getInvestor()
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
         return InvestorResponse.fromInvestor(investor);
     }
 
     @Transactional
-    public InvestorResponse updateMyInvestor(UpdateInvestorRequest request, String authHeader) {
+    public InvestorResponse updateMyInvestor(UpdateInvestorRequest request, CurrentActor actor) {
         log.info("Updating investor profile");
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = actor.getInvestor()
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
         if (request.getNom() != null) investor.setNom(request.getNom());
@@ -97,11 +104,40 @@ public class InvestorService {
         return InvestorResponse.fromInvestor(updated);
     }
 
+    @Transactional(readOnly = true)
     public Page<InvestorResponse> getAllInvestors(Pageable pageable) {
-        return investorRepository.findAll(pageable)
-                .map(InvestorResponse::fromInvestor);
+        return investorRepository.findAllProjectedBy(pageable)
+                .map(InvestorResponse::fromView);
+    }
+
+    /**
+     * Keyset (cursor) listing, newest first: no OFFSET and no COUNT(*).
+     * The total, when asked for, is the planner's estimate cached for a minute.
+     */
+    @Transactional(readOnly = true)
+    public InvestorSliceResponse getInvestorsAfter(String after, int size, boolean withTotal) {
+        KeysetCursor cursor = KeysetCursor.newestFirst(after);
+        Slice<InvestorView> slice = investorRepository.findNewestFirstAfter(
+                cursor.at(), cursor.id(), KeysetCursor.limit(size));
+
+        return new InvestorSliceResponse(
+                slice.getContent().stream().map(InvestorResponse::fromView).collect(Collectors.toList()),
+                slice.getNumberOfElements(),
+                slice.hasNext(),
+                KeysetCursor.after(slice, InvestorView::createdAt, InvestorView::id),
+                withTotal ? estimateInvestorCount() : null
+        );
+    }
+
+    private long estimateInvestorCount() {
+        return countEstimate.get(INVESTORS, key -> {
+            long estimate = investorRepository.estimateCount();
+            // never analyzed yet: fall back to an exact count once
+            return estimate >= 0 ? estimate : investorRepository.count();
+        });
     }
 
+    @Transactional(readOnly = true)
     public InvestorResponse getInvestorById(UUID id) {
         Investor investor = investorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Investisseur non trouvé"));
@@ -109,9 +145,10 @@ public class InvestorService {
         return InvestorResponse.fromInvestor(investor);
     }
 
+    @Transactional(readOnly = true)
     public List<InvestorResponse> searchBySecteur(String secteur) {
         return investorRepository.findBySecteur(secteur).stream()
-                .map(InvestorResponse::fromInvestor)
+                .map(InvestorResponse::fromView)
                 .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,63 @@
+package ma.startup.platform.investorservice.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Position in a (timestamp, id) ordered list, exchanged with clients as "timestamp,id".
+ * The repositories page with a row comparison on (timestamp, id), never with OFFSET.
+ */
+record KeysetCursor(LocalDateTime at, UUID id) {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    // sorts after every row: first page of a newest-first list
+    private static final KeysetCursor NEWEST = new KeysetCursor(
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59), new UUID(-1L, -1L));
+
+    static KeysetCursor newestFirst(String after) {
+        return after == null || after.isBlank() ? NEWEST : parse(after);
+    }
+
+    // first page of an oldest-first list starting at 'from'
+    static KeysetCursor oldestFirst(String after, LocalDateTime from) {
+        return after == null || after.isBlank() ? new KeysetCursor(from, new UUID(0L, 0L)) : parse(after);
+    }
+
+    static Pageable limit(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("La taille doit être comprise entre 1 et " + MAX_PAGE_SIZE);
+        }
+        return PageRequest.of(0, size);
+    }
+
+    private static KeysetCursor parse(String after) {
+        int comma = after.lastIndexOf(',');
+        try {
+            return new KeysetCursor(
+                    LocalDateTime.parse(after.substring(0, comma)),
+                    UUID.fromString(after.substring(comma + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new RuntimeException("Curseur invalide: " + after);
+        }
+    }
+
+    // cursor of the page after 'slice', or null if it was the last one
+    static <T> String after(Slice<T> slice, Function<T, LocalDateTime> at, Function<T, UUID> id) {
+        if (!slice.hasNext()) {
+            return null;
+        }
+        T last = slice.getContent().get(slice.getNumberOfElements() - 1);
+        return new KeysetCursor(at.apply(last), id.apply(last)).encode();
+    }
+
+    String encode() {
+        return at + "," + id;
+    }
+}
@@ -4,13 +4,13 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import ma.startup.platform.investorservice.client.AuthServiceClient;
-import ma.startup.platform.investorservice.client.StartupServiceClient;
 import ma.startup.platform.investorservice.dto.*;
 import ma.startup.platform.investorservice.model.Investor;
 import ma.startup.platform.investorservice.model.MatchingResult;
 import ma.startup.platform.investorservice.repository.InvestorRepository;
+import ma.startup.platform.investorservice.replica.StartupCatalogReplica;
 import ma.startup.platform.investorservice.repository.MatchingResultRepository;
+import ma.startup.platform.investorservice.security.CurrentActor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,8 +24,7 @@ public class MatchingService {
 
     private final MatchingResultRepository matchingResultRepository;
     private final InvestorRepository investorRepository;
-    private final StartupServiceClient startupServiceClient;
-    private final AuthServiceClient authServiceClient;
+    private final StartupCatalogReplica startupCatalogReplica;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
@@ -33,18 +32,13 @@ public class MatchingService {
      * This is THE KEY ENDPOINT: GET /api/matching/for-me
      */
     @Transactional
-    public List<MatchingResponse> getMatchingInvestorsForMe(String authHeader) {
+    public List<MatchingResponse> getMatchingInvestorsForMe(CurrentActor actor) {
         log.info("Calculating matching investors for current startup");
 
-        // 1. Get current user
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
-        // 2. Get startup profile
-        // 2. Get startup profile
+        // 1. Get startup profile of the current user
         StartupDTO startup;
         try {
-            // Use getMyStartup instead of getStartupById with userId
-            startup = startupServiceClient.getMyStartup(authHeader);
+            startup = actor.getStartup();
         } catch (Exception e) {
             log.error("Error fetching startup: {}", e.getMessage());
             throw new RuntimeException("Profil startup non trouvé pour cet utilisateur");
@@ -58,27 +52,31 @@ public class MatchingService {
             return Collections.emptyList();
         }
 
-        // 4. Calculate matching score for each investor
+        // 4. Existing results of this startup, loaded once instead of one lookup per investor
+        Map<UUID, MatchingResult> existingResults = matchingResultRepository
+                .findByStartupIdOrderByScoreDesc(startup.getId()).stream()
+                .collect(Collectors.toMap(MatchingResult::getInvestorId, r -> r, (a, b) -> a));
+
+        // 5. Calculate matching score for each investor
         List<MatchingResponse> matches = new ArrayList<>();
+        List<MatchingResult> results = new ArrayList<>();
 
         for (Investor investor : allInvestors) {
             int score = calculateMatchingScore(startup, investor);
 
             // Create or update matching result
-            MatchingResult matchingResult = matchingResultRepository
-                    .findByStartupIdAndInvestorId(startup.getId(), investor.getId())
-                    .orElse(new MatchingResult());
+            MatchingResult matchingResult = existingResults
+                    .getOrDefault(investor.getId(), new MatchingResult());
 
             matchingResult.setStartupId(startup.getId());
             matchingResult.setInvestorId(investor.getId());
             matchingResult.setScore(score);
             matchingResult.setCriteria(buildCriteriaJson(startup, investor, score));
 
-            matchingResultRepository.save(matchingResult);
+            results.add(matchingResult);
 
-            // Build response
+            // Build response (matchId is known once the result is persisted)
             MatchingResponse response = new MatchingResponse();
-            response.setMatchId(matchingResult.getId());
             response.setInvestor(InvestorResponse.fromInvestor(investor));
             response.setScore(score);
             response.setCriteria(parseCriteria(startup, investor, score));
@@ -87,7 +85,13 @@ public class MatchingService {
             matches.add(response);
         }
 
-        // 5. Sort by score (highest first) and return top 20
+        // 6. New results are inserted and changed ones updated in JDBC batches at flush
+        matchingResultRepository.saveAll(results);
+        for (int i = 0; i < results.size(); i++) {
+            matches.get(i).setMatchId(results.get(i).getId());
+        }
+
+        // 7. Sort by score (highest first) and return top 20
         return matches.stream()
                 .sorted((a, b) -> b.getScore().compareTo(a.getScore()))
                 .limit(20)
@@ -179,13 +183,10 @@ public class MatchingService {
     /**
      * Get matching score for specific investor
      */
-    public MatchingResponse getMatchingScore(UUID investorId, String authHeader) {
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
-        // FIXED: Use getMyStartup
+    public MatchingResponse getMatchingScore(UUID investorId, CurrentActor actor) {
         StartupDTO startup;
         try {
-            startup = startupServiceClient.getMyStartup(authHeader);
+            startup = actor.getStartup();
         } catch (Exception e) {
             log.error("Error fetching startup: {}", e.getMessage());
             throw new RuntimeException("Profil startup non trouvé");
@@ -208,33 +209,30 @@ public class MatchingService {
      * Force recalculation of all matches for current startup
      */
     @Transactional
-    public void recalculateMatches(String authHeader) {
+    public void recalculateMatches(CurrentActor actor) {
         log.info("Force recalculating matches");
-        getMatchingInvestorsForMe(authHeader);
+        getMatchingInvestorsForMe(actor);
     }
     /**
      * Get matching startups for current investor (investor's perspective)
      */
     @Transactional
-    public List<StartupMatchResponse> getMatchingStartupsForMe(String authHeader) {
+    public List<StartupMatchResponse> getMatchingStartupsForMe(CurrentActor actor) {
         log.info("Calculating matching startups for current investor");
 
-        // 1. Get current user
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
-        // Verify user is an investor
-        if (!"INVESTOR".equals(user.getRole())) {
+        // 1. Verify the current user is an investor
+        if (!actor.isInvestor()) {
             throw new RuntimeException("Seuls les investisseurs peuvent consulter les start-ups matchées");
         }
 
         // 2. Get investor profile
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = actor.getInvestor()
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
         // 3. Get all startups
         List<StartupDTO> allStartups;
         try {
-            allStartups = startupServiceClient.getAllStartups(authHeader);
+            allStartups = startupCatalogReplica.getAllStartups(actor.getAuthHeader());
         } catch (Exception e) {
             log.error("Error fetching startups: {}", e.getMessage());
             return Collections.emptyList();
@@ -245,8 +243,14 @@ public class MatchingService {
             return Collections.emptyList();
         }
 
-        // 4. Calculate matching score for each startup
+        // 4. Existing results of this investor, loaded once instead of one lookup per startup
+        Map<UUID, MatchingResult> existingResults = matchingResultRepository
+                .findByInvestorIdOrderByScoreDesc(investor.getId()).stream()
+                .collect(Collectors.toMap(MatchingResult::getStartupId, r -> r, (a, b) -> a));
+
+        // 5. Calculate matching score for each startup
         List<StartupMatchResponse> matches = new ArrayList<>();
+        List<MatchingResult> results = new ArrayList<>();
 
         for (StartupDTO startup : allStartups) {
             int score = calculateMatchingScore(startup, investor);
@@ -254,16 +258,15 @@ public class MatchingService {
             // Only return startups with score >= 50 (decent match)
             if (score >= 50) {
                 // Create or update matching result
-                MatchingResult matchingResult = matchingResultRepository
-                        .findByStartupIdAndInvestorId(startup.getId(), investor.getId())
-                        .orElse(new MatchingResult());
+                MatchingResult matchingResult = existingResults
+                        .getOrDefault(startup.getId(), new MatchingResult());
 
                 matchingResult.setStartupId(startup.getId());
                 matchingResult.setInvestorId(investor.getId());
                 matchingResult.setScore(score);
                 matchingResult.setCriteria(buildCriteriaJson(startup, investor, score));
 
-                matchingResultRepository.save(matchingResult);
+                results.add(matchingResult);
 
                 // Build startup info
                 StartupMatchResponse.StartupInfo startupInfo = new StartupMatchResponse.StartupInfo(
@@ -280,9 +283,9 @@ public class MatchingService {
                 // Build criteria
                 StartupMatchResponse.MatchingCriteria criteria = buildMatchingCriteria(startup, investor, score);
 
-                // Build response
+                // Build response (matchId is known once the result is persisted)
                 StartupMatchResponse response = new StartupMatchResponse(
-                        matchingResult.getId(),
+                        null,
                         startupInfo,
                         score,
                         criteria,
@@ -293,7 +296,13 @@ public class MatchingService {
             }
         }
 
-        // 5. Sort by score (highest first) and return top 20
+        // 6. New results are inserted and changed ones updated in JDBC batches at flush
+        matchingResultRepository.saveAll(results);
+        for (int i = 0; i < results.size(); i++) {
+            matches.get(i).setMatchId(results.get(i).getId());
+        }
+
+        // 7. Sort by score (highest first) and return top 20
         return matches.stream()
                 .sorted((a, b) -> b.getScore().compareTo(a.getScore()))
                 .limit(20)
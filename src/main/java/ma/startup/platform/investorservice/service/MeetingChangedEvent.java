@@ -0,0 +1,14 @@
+package ma.startup.platform.investorservice.service;
+
+import ma.startup.platform.investorservice.enums.MeetingStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published by MeetingService whenever a meeting is created or changes date or status, with
+ * its state after the change; listeners react after the transaction commits.
+ */
+public record MeetingChangedEvent(UUID meetingId, UUID investorId, UUID startupId,
+                                  LocalDateTime meetingDate, MeetingStatus status) {
+}
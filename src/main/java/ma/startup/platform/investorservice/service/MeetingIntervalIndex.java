@@ -0,0 +1,209 @@
+package ma.startup.platform.investorservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.model.Meeting;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import ma.startup.platform.investorservice.repository.projection.MeetingSlot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * In-memory schedule of the open (PENDING / ACCEPTED) meetings of each investor and startup,
+ * used to answer availability checks and slot suggestions without a query.
+ *
+ * The ex_meetings_*_overlap exclusion constraints (V7) guarantee that the slots of one
+ * participant never overlap, so a TreeMap keyed by start time is enough: the only slot that
+ * can reach into [start, end) from before is the one starting last before 'start', and a
+ * lookup is O(log n + k). Alongside it, a bitmap of SLOT_MINUTES slots (bit set = busy) over
+ * the search horizon lets free slots common to two participants be found with a bitwise OR
+ * of their busy bits. The database stays the authority on writes. A schedule is only used
+ * while the participant's meeting_feed_versions counter (V9 triggers, bumped by writes from
+ * any instance) is the one it was loaded at, and is also evicted after every local commit
+ * that touches the participant's meetings (MeetingChangedEvent).
+ */
+@Component
+@Slf4j
+public class MeetingIntervalIndex {
+
+    public static final int SLOT_MINUTES = 15;
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private record Participant(boolean investor, UUID id) {
+    }
+
+    // bit i of 'busy' is the slot starting at origin + i * SLOT_MINUTES; 'version' is the
+    // participant's meeting_feed_versions counter read before loading the slots
+    private record Schedule(NavigableMap<LocalDateTime, MeetingSlot> timeline, LocalDateTime origin, BitSet busy,
+                            long version) {
+    }
+
+    private final MeetingRepository meetingRepository;
+    private final Cache<Participant, Schedule> schedules;
+    private final Duration horizon;
+    private final int firstWorkingSlot;
+    private final int endOfWorkingSlots;
+
+    public MeetingIntervalIndex(MeetingRepository meetingRepository,
+                                @Value("${investor.meeting-index.max-size:10000}") long maxSize,
+                                @Value("${investor.meeting-index.ttl:10m}") Duration ttl,
+                                @Value("${investor.meeting-slots.horizon:90d}") Duration horizon,
+                                @Value("${investor.meeting-slots.day-start:09:00}") LocalTime dayStart,
+                                @Value("${investor.meeting-slots.day-end:18:00}") LocalTime dayEnd) {
+        this.meetingRepository = meetingRepository;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.horizon = horizon;
+        this.firstWorkingSlot = dayStart.toSecondOfDay() / 60 / SLOT_MINUTES;
+        this.endOfWorkingSlots = dayEnd.toSecondOfDay() / 60 / SLOT_MINUTES;
+    }
+
+    /**
+     * Open meetings of the investor and/or startup overlapping [start, end), by start time
+     */
+    public List<MeetingSlot> conflicts(UUID investorId, UUID startupId, LocalDateTime start, LocalDateTime end) {
+        List<MeetingSlot> conflicts = new ArrayList<>();
+        if (investorId != null) {
+            conflicts.addAll(overlapping(schedule(new Participant(true, investorId)).timeline(), start, end));
+        }
+        if (startupId != null) {
+            overlapping(schedule(new Participant(false, startupId)).timeline(), start, end).stream()
+                    .filter(slot -> !conflicts.contains(slot))
+                    .forEach(conflicts::add);
+        }
+        conflicts.sort(Comparator.comparing(MeetingSlot::meetingDate));
+        return conflicts;
+    }
+
+    /**
+     * Start times, within working hours and [from, to), at which both the investor and the
+     * startup are free for durationMinutes; back-to-back options within each free run
+     */
+    public List<LocalDateTime> freeSlots(UUID investorId, UUID startupId, LocalDateTime from, LocalDateTime to,
+                                         int durationMinutes, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        if (to.isAfter(now.plus(horizon))) {
+            throw new RuntimeException("La recherche est limitée aux " + horizon.toDays() + " prochains jours");
+        }
+        LocalDateTime start = ceilToSlot(from.isAfter(now) ? from : now);
+        int slots = (int) (Duration.between(start, to).toMinutes() / SLOT_MINUTES);
+        int needed = (durationMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        if (slots < needed) {
+            return List.of();
+        }
+
+        BitSet busy = outsideWorkingHours(start, slots);
+        busy.or(window(schedule(new Participant(true, investorId)), start, slots));
+        busy.or(window(schedule(new Participant(false, startupId)), start, slots));
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        int free = busy.nextClearBit(0);
+        while (free + needed <= slots && starts.size() < limit) {
+            int nextBusy = busy.nextSetBit(free);
+            int runEnd = nextBusy < 0 ? slots : nextBusy;
+            for (; free + needed <= runEnd && starts.size() < limit; free += needed) {
+                starts.add(start.plusMinutes((long) free * SLOT_MINUTES));
+            }
+            if (nextBusy < 0) {
+                break;
+            }
+            free = busy.nextClearBit(runEnd);
+        }
+        return starts;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMeetingChanged(MeetingChangedEvent event) {
+        schedules.invalidate(new Participant(true, event.investorId()));
+        schedules.invalidate(new Participant(false, event.startupId()));
+    }
+
+    static List<MeetingSlot> overlapping(NavigableMap<LocalDateTime, MeetingSlot> timeline,
+                                         LocalDateTime start, LocalDateTime end) {
+        LocalDateTime from = timeline.floorKey(start);
+        return timeline.subMap(from != null ? from : start, true, end, false).values().stream()
+                .filter(slot -> slot.end().isAfter(start))
+                .toList();
+    }
+
+    private Schedule schedule(Participant participant) {
+        long version = meetingRepository.findFeedVersion(participant.id()).orElse(0L);
+        Schedule schedule = schedules.getIfPresent(participant);
+        if (schedule == null || schedule.version() != version) {
+            schedule = load(participant, version);
+            schedules.put(participant, schedule);
+        }
+        return schedule;
+    }
+
+    // Slots that ended more than the longest meeting ago can no longer overlap a future check
+    private Schedule load(Participant participant, long version) {
+        LocalDateTime origin = LocalDateTime.now().minusMinutes(Meeting.MAX_DURATION_MINUTES).truncatedTo(ChronoUnit.HOURS);
+        List<MeetingSlot> slots = participant.investor()
+                ? meetingRepository.findOpenSlotsForInvestor(participant.id(), origin)
+                : meetingRepository.findOpenSlotsForStartup(participant.id(), origin);
+
+        // one day of margin: the origin lags 'now' by up to a meeting length plus the cache ttl
+        int horizonSlots = (int) (horizon.plusDays(1).toMinutes() / SLOT_MINUTES);
+        NavigableMap<LocalDateTime, MeetingSlot> timeline = new TreeMap<>();
+        BitSet busy = new BitSet(horizonSlots);
+        for (MeetingSlot slot : slots) {
+            timeline.put(slot.meetingDate(), slot);
+            int first = (int) slotIndex(origin, slot.meetingDate(), false);
+            int end = (int) Math.min(slotIndex(origin, slot.end(), true), horizonSlots);
+            if (first < end) {
+                busy.set(first, end);
+            }
+        }
+        log.debug("Loaded {} open meetings for {} {}", timeline.size(),
+                participant.investor() ? "investor" : "startup", participant.id());
+        return new Schedule(Collections.unmodifiableNavigableMap(timeline), origin, busy, version);
+    }
+
+    // busy bits of [start, start + slots * SLOT_MINUTES), re-based so that bit 0 is 'start'
+    private static BitSet window(Schedule schedule, LocalDateTime start, int slots) {
+        int offset = (int) slotIndex(schedule.origin(), start, false);
+        return schedule.busy().get(offset, offset + slots);
+    }
+
+    private BitSet outsideWorkingHours(LocalDateTime start, int slots) {
+        BitSet closed = new BitSet(slots);
+        int slotOfDay = start.toLocalTime().toSecondOfDay() / 60 / SLOT_MINUTES;
+        for (int i = 0; i < slots; i++) {
+            int slot = (slotOfDay + i) % SLOTS_PER_DAY;
+            if (slot < firstWorkingSlot || slot >= endOfWorkingSlots) {
+                closed.set(i);
+            }
+        }
+        return closed;
+    }
+
+    private static long slotIndex(LocalDateTime origin, LocalDateTime time, boolean roundUp) {
+        long seconds = Duration.between(origin, time).getSeconds();
+        long slotSeconds = SLOT_MINUTES * 60L;
+        return roundUp ? Math.floorDiv(seconds + slotSeconds - 1, slotSeconds) : Math.floorDiv(seconds, slotSeconds);
+    }
+
+    private static LocalDateTime ceilToSlot(LocalDateTime time) {
+        LocalDateTime hour = time.truncatedTo(ChronoUnit.HOURS);
+        long slot = slotIndex(hour, time, true);
+        return hour.plusMinutes(slot * SLOT_MINUTES);
+    }
+}
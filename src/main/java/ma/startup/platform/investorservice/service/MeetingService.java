@@ -2,54 +2,96 @@ package ma.startup.platform.investorservice.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import ma.startup.platform.investorservice.client.AuthServiceClient;
-import ma.startup.platform.investorservice.client.StartupServiceClient;
+import ma.startup.platform.investorservice.dto.AvailabilityResponse;
+import ma.startup.platform.investorservice.dto.BulkActionRequest;
+import ma.startup.platform.investorservice.dto.BulkActionResponse;
+import ma.startup.platform.investorservice.dto.CalendarTokenResponse;
+import ma.startup.platform.investorservice.dto.CursorPage;
 import ma.startup.platform.investorservice.dto.MeetingResponse;
 import ma.startup.platform.investorservice.dto.ScheduleMeetingRequest;
+import ma.startup.platform.investorservice.dto.SlotSuggestionResponse;
 import ma.startup.platform.investorservice.dto.StartupDTO;
-import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.enums.BulkAction;
+import ma.startup.platform.investorservice.enums.BulkOutcome;
 import ma.startup.platform.investorservice.enums.ConnectionRequest;
 import ma.startup.platform.investorservice.enums.ConnectionStatus;
 import ma.startup.platform.investorservice.enums.MeetingStatus;
 import ma.startup.platform.investorservice.model.Investor;
 import ma.startup.platform.investorservice.model.Meeting;
+import ma.startup.platform.investorservice.replica.StartupCatalogReplica;
 import ma.startup.platform.investorservice.repository.ConnectionRequestRepository;
 import ma.startup.platform.investorservice.repository.InvestorRepository;
 import ma.startup.platform.investorservice.repository.MeetingRepository;
+import ma.startup.platform.investorservice.repository.projection.CalendarFeedOwner;
+import ma.startup.platform.investorservice.repository.projection.InvestorView;
+import ma.startup.platform.investorservice.repository.projection.MeetingParticipants;
+import ma.startup.platform.investorservice.repository.projection.MeetingView;
+import ma.startup.platform.investorservice.security.CurrentActor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MeetingService {
 
+    public static final int MAX_SUGGESTED_SLOTS = 50;
+    private static final int DEFAULT_SUGGESTION_DAYS = 14;
+    private static final int CALENDAR_TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private final MeetingRepository meetingRepository;
     private final ConnectionRequestRepository connectionRequestRepository;
     private final InvestorRepository investorRepository;
-    private final AuthServiceClient authServiceClient;
-    private final StartupServiceClient startupServiceClient;
+    private final StartupCatalogReplica startupCatalogReplica;
+    private final MeetingIntervalIndex meetingIntervalIndex;
+    private final AgendaCache agendaCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Investor schedules a meeting with a startup
      */
     @Transactional
-    public MeetingResponse scheduleMeeting(ScheduleMeetingRequest request, String authHeader) {
+    public MeetingResponse scheduleMeeting(ScheduleMeetingRequest request, CurrentActor actor) {
         log.info("Scheduling meeting for connection: {}", request.getConnectionId());
 
         // Get current user (must be investor)
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-        if (!"INVESTOR".equals(user.getRole())) {
+        if (!actor.isInvestor()) {
             throw new RuntimeException("Seuls les investisseurs peuvent proposer des réunions");
         }
 
         // Get investor profile
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = actor.getInvestor()
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
         // Verify connection exists and is accepted
@@ -65,25 +107,20 @@ public class MeetingService {
             throw new RuntimeException("Cette connexion ne vous appartient pas");
         }
 
-        // Check if there's already a pending meeting for this connection
-        boolean hasPendingMeeting = meetingRepository.existsByConnectionIdAndStatut(
-                request.getConnectionId(), MeetingStatus.PENDING);
-
-        if (hasPendingMeeting) {
-            throw new RuntimeException("Une réunion est déjà en attente pour cette connexion");
-        }
-
-        // Create meeting
+        // Create meeting (a second PENDING one for this connection is refused by uq_meetings_pending_connection)
         Meeting meeting = new Meeting();
         meeting.setConnectionId(request.getConnectionId());
         meeting.setInvestorId(investor.getId());
         meeting.setStartupId(connection.getStartupId());
         meeting.setMeetingDate(request.getMeetingDate());
+        meeting.setDurationMinutes(request.getDurationMinutes() != null
+                ? request.getDurationMinutes() : Meeting.DEFAULT_DURATION_MINUTES);
         meeting.setMeetingPlace(request.getMeetingPlace());
         meeting.setMessage(request.getMessage());
         meeting.setStatus(MeetingStatus.PENDING);
 
-        Meeting saved = meetingRepository.save(meeting);
+        Meeting saved = saveOnePending(meeting);
+        publishChanged(saved);
         log.info("Meeting scheduled with ID: {}", saved.getId());
 
         // Build response with investor details
@@ -99,68 +136,82 @@ public class MeetingService {
     }
 
     /**
-     * Get meetings received by startup (pending approval)
+     * Get one page of the meetings received by startup (pending approval)
      */
-    public List<MeetingResponse> getReceivedMeetings(String authHeader) {
+    @Transactional(readOnly = true)
+    public CursorPage<MeetingResponse> getReceivedMeetings(CurrentActor actor, List<MeetingStatus> statuses,
+                                                           String after, int size) {
         log.info("Fetching received meeting requests");
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
-        if (!"STARTUP".equals(user.getRole())) {
+        if (!actor.isStartup()) {
             throw new RuntimeException("Seules les start-ups peuvent consulter les réunions reçues");
         }
 
         // Get startup profile
         StartupDTO startup;
         try {
-            startup = startupServiceClient.getMyStartup(authHeader);
+            startup = actor.getStartup();
         } catch (Exception e) {
             throw new RuntimeException("Profil startup non trouvé");
         }
 
-        List<Meeting> meetings = meetingRepository.findByStartupIdOrderByMeetingDateDesc(startup.getId());
+        KeysetCursor cursor = KeysetCursor.newestFirst(after);
+        Slice<MeetingView> meetings = meetingRepository.findPageForStartup(
+                startup.getId(), orAll(statuses), cursor.at(), cursor.id(), KeysetCursor.limit(size));
+        if (!meetings.hasContent()) {
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+
+        // Investor details, loaded in one query for the whole page
+        Set<UUID> investorIds = meetings.getContent().stream()
+                .map(MeetingView::investorId)
+                .collect(Collectors.toSet());
+        Map<UUID, InvestorView> investors = investorRepository.findProjectedByIdIn(investorIds).stream()
+                .collect(Collectors.toMap(InvestorView::id, inv -> inv));
 
-        return meetings.stream()
+        return toPage(meetings, meetings.getContent().stream()
                 .map(meeting -> {
-                    MeetingResponse response = MeetingResponse.fromMeeting(meeting);
-                    // Add investor details
-                    investorRepository.findById(meeting.getInvestorId()).ifPresent(inv ->
-                            response.setInvestor(new MeetingResponse.InvestorInfo(
-                                    inv.getId(),
-                                    inv.getNom(),
-                                    inv.getType().name(),
-                                    inv.getEmail()
-                            ))
-                    );
+                    MeetingResponse response = MeetingResponse.fromView(meeting);
+                    InvestorView inv = investors.get(meeting.investorId());
+                    if (inv != null) {
+                        response.setInvestor(new MeetingResponse.InvestorInfo(
+                                inv.id(),
+                                inv.nom(),
+                                inv.type().name(),
+                                inv.email()
+                        ));
+                    }
                     return response;
                 })
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
-     * Get meetings sent by investor
+     * Get one page of the meetings sent by investor
      */
-    public List<MeetingResponse> getSentMeetings(String authHeader) {
+    @Transactional(readOnly = true)
+    public CursorPage<MeetingResponse> getSentMeetings(CurrentActor actor, List<MeetingStatus> statuses,
+                                                       String after, int size) {
         log.info("Fetching sent meeting requests");
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
-        if (!"INVESTOR".equals(user.getRole())) {
+        if (!actor.isInvestor()) {
             throw new RuntimeException("Seuls les investisseurs peuvent consulter leurs réunions envoyées");
         }
 
         // Get investor profile
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = actor.getInvestor()
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
-        List<Meeting> meetings = meetingRepository.findByInvestorIdOrderByMeetingDateDesc(investor.getId());
+        KeysetCursor cursor = KeysetCursor.newestFirst(after);
+        Slice<MeetingView> meetings = meetingRepository.findPageForInvestor(
+                investor.getId(), orAll(statuses), cursor.at(), cursor.id(), KeysetCursor.limit(size));
 
-        return meetings.stream()
+        return toPage(meetings, meetings.getContent().stream()
                 .map(meeting -> {
-                    MeetingResponse response = MeetingResponse.fromMeeting(meeting);
+                    MeetingResponse response = MeetingResponse.fromView(meeting);
                     // Add startup details
                     try {
-                        StartupDTO startup = startupServiceClient.getStartupById(meeting.getStartupId(), authHeader);
+                        StartupDTO startup = startupCatalogReplica.getStartupById(meeting.startupId(), actor.getAuthHeader());
                         response.setStartup(new MeetingResponse.StartupInfo(
                                 startup.getId(),
                                 startup.getNom(),
@@ -171,49 +222,33 @@ public class MeetingService {
                     }
                     return response;
                 })
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
      * Startup accepts a meeting
      */
     @Transactional
-    public MeetingResponse acceptMeeting(UUID meetingId, String authHeader) {
+    public MeetingResponse acceptMeeting(UUID meetingId, CurrentActor actor) {
         log.info("Accepting meeting: {}", meetingId);
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
-        if (!"STARTUP".equals(user.getRole())) {
+        if (!actor.isStartup()) {
             throw new RuntimeException("Seules les start-ups peuvent accepter des réunions");
         }
 
         // Get startup profile
         StartupDTO startup;
         try {
-            startup = startupServiceClient.getMyStartup(authHeader);
+            startup = actor.getStartup();
         } catch (Exception e) {
             throw new RuntimeException("Profil startup non trouvé");
         }
 
-        // Get meeting
-        Meeting meeting = meetingRepository.findById(meetingId)
-                .orElseThrow(() -> new RuntimeException("Réunion non trouvée"));
-
-        // Verify this meeting belongs to this startup
-        if (!meeting.getStartupId().equals(startup.getId())) {
-            throw new RuntimeException("Cette réunion ne vous appartient pas");
-        }
-
-        // Verify status is PENDING
-        if (meeting.getStatus() != MeetingStatus.PENDING) {
-            throw new RuntimeException("Cette réunion a déjà été traitée");
-        }
-
-        // Accept the meeting
-        meeting.setStatus(MeetingStatus.ACCEPTED);
-        meeting.setRespondedAt(LocalDateTime.now());
-
-        Meeting updated = meetingRepository.save(meeting);
+        // Accept the meeting if it is this startup's and still PENDING (single conditional UPDATE)
+        Meeting updated = meetingRepository
+                .respondIfPending(meetingId, startup.getId(), MeetingStatus.ACCEPTED.name())
+                .orElseThrow(() -> responseRefused(meetingId, startup.getId()));
+        publishChanged(updated);
         log.info("Meeting accepted: {}", meetingId);
 
         return MeetingResponse.fromMeeting(updated);
@@ -223,42 +258,26 @@ public class MeetingService {
      * Startup rejects a meeting
      */
     @Transactional
-    public MeetingResponse rejectMeeting(UUID meetingId, String authHeader) {
+    public MeetingResponse rejectMeeting(UUID meetingId, CurrentActor actor) {
         log.info("Rejecting meeting: {}", meetingId);
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
-        if (!"STARTUP".equals(user.getRole())) {
+        if (!actor.isStartup()) {
             throw new RuntimeException("Seules les start-ups peuvent rejeter des réunions");
         }
 
         // Get startup profile
         StartupDTO startup;
         try {
-            startup = startupServiceClient.getMyStartup(authHeader);
+            startup = actor.getStartup();
         } catch (Exception e) {
             throw new RuntimeException("Profil startup non trouvé");
         }
 
-        // Get meeting
-        Meeting meeting = meetingRepository.findById(meetingId)
-                .orElseThrow(() -> new RuntimeException("Réunion non trouvée"));
-
-        // Verify this meeting belongs to this startup
-        if (!meeting.getStartupId().equals(startup.getId())) {
-            throw new RuntimeException("Cette réunion ne vous appartient pas");
-        }
-
-        // Verify status is PENDING
-        if (meeting.getStatus() != MeetingStatus.PENDING) {
-            throw new RuntimeException("Cette réunion a déjà été traitée");
-        }
-
-        // Reject the meeting
-        meeting.setStatus(MeetingStatus.REJECTED);
-        meeting.setRespondedAt(LocalDateTime.now());
-
-        Meeting updated = meetingRepository.save(meeting);
+        // Reject the meeting if it is this startup's and still PENDING (single conditional UPDATE)
+        Meeting updated = meetingRepository
+                .respondIfPending(meetingId, startup.getId(), MeetingStatus.REJECTED.name())
+                .orElseThrow(() -> responseRefused(meetingId, startup.getId()));
+        publishChanged(updated);
         log.info("Meeting rejected: {}", meetingId);
 
         return MeetingResponse.fromMeeting(updated);
@@ -268,11 +287,9 @@ public class MeetingService {
      * Reschedule a meeting (propose new time)
      */
     @Transactional
-    public MeetingResponse rescheduleMeeting(UUID meetingId, ScheduleMeetingRequest request, String authHeader) {
+    public MeetingResponse rescheduleMeeting(UUID meetingId, ScheduleMeetingRequest request, CurrentActor actor) {
         log.info("Rescheduling meeting: {}", meetingId);
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
         // Get meeting
         Meeting meeting = meetingRepository.findById(meetingId)
                 .orElseThrow(() -> new RuntimeException("Réunion non trouvée"));
@@ -281,12 +298,12 @@ public class MeetingService {
         boolean isInvestor = false;
         boolean isStartup = false;
 
-        if ("INVESTOR".equals(user.getRole())) {
-            Investor investor = investorRepository.findByUserId(user.getId())
+        if (actor.isInvestor()) {
+            Investor investor = actor.getInvestor()
                     .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
             isInvestor = meeting.getInvestorId().equals(investor.getId());
-        } else if ("STARTUP".equals(user.getRole())) {
-            StartupDTO startup = startupServiceClient.getMyStartup(authHeader);
+        } else if (actor.isStartup()) {
+            StartupDTO startup = actor.getStartup();
             isStartup = meeting.getStartupId().equals(startup.getId());
         }
 
@@ -296,6 +313,9 @@ public class MeetingService {
 
         // Update meeting details
         meeting.setMeetingDate(request.getMeetingDate());
+        if (request.getDurationMinutes() != null) {
+            meeting.setDurationMinutes(request.getDurationMinutes());
+        }
         meeting.setMeetingPlace(request.getMeetingPlace());
         if (request.getMessage() != null) {
             meeting.setMessage(request.getMessage());
@@ -303,80 +323,358 @@ public class MeetingService {
         meeting.setStatus(MeetingStatus.PENDING); // Reset to pending for approval
         meeting.setRespondedAt(null);
 
-        Meeting updated = meetingRepository.save(meeting);
+        Meeting updated = saveOnePending(meeting);
+        publishChanged(updated);
         log.info("Meeting rescheduled: {}", meetingId);
 
         return MeetingResponse.fromMeeting(updated);
     }
 
     /**
-     * Get upcoming meetings for current user
+     * Accept, reject (startup) or cancel (either party) many meetings at once
+     */
+    @Transactional
+    public BulkActionResponse bulkAction(BulkActionRequest request, CurrentActor actor) {
+        log.info("Bulk {} of {} meetings", request.getAction(), request.getIds().size());
+
+        Set<UUID> ids = new LinkedHashSet<>(request.getIds());
+
+        // Actor resolved once, then one conditional UPDATE for all ids
+        List<MeetingParticipants> changed;
+        Predicate<Meeting> participant;
+
+        if (request.getAction() == BulkAction.CANCEL && actor.isInvestor()) {
+            Investor investor = actor.getInvestor()
+                    .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
+            changed = meetingRepository.cancelAllForInvestor(ids, investor.getId());
+            participant = meeting -> meeting.getInvestorId().equals(investor.getId());
+        } else if (actor.isStartup()) {
+            StartupDTO startup;
+            try {
+                startup = actor.getStartup();
+            } catch (Exception e) {
+                throw new RuntimeException("Profil startup non trouvé");
+            }
+            changed = switch (request.getAction()) {
+                case ACCEPT -> meetingRepository.respondAllIfPending(ids, startup.getId(), MeetingStatus.ACCEPTED.name());
+                case REJECT -> meetingRepository.respondAllIfPending(ids, startup.getId(), MeetingStatus.REJECTED.name());
+                case CANCEL -> meetingRepository.cancelAllForStartup(ids, startup.getId());
+            };
+            participant = meeting -> meeting.getStartupId().equals(startup.getId());
+        } else {
+            throw new RuntimeException("Seules les start-ups peuvent accepter ou rejeter des réunions");
+        }
+        MeetingStatus newStatus = switch (request.getAction()) {
+            case ACCEPT -> MeetingStatus.ACCEPTED;
+            case REJECT -> MeetingStatus.REJECTED;
+            case CANCEL -> MeetingStatus.CANCELLED;
+        };
+        Set<UUID> applied = new HashSet<>();
+        for (MeetingParticipants meeting : changed) {
+            applied.add(meeting.id());
+            eventPublisher.publishEvent(new MeetingChangedEvent(meeting.id(), meeting.investorId(), meeting.startupId(),
+                    meeting.meetingDate(), newStatus));
+        }
+
+        // Ids left untouched: one read to tell why
+        Map<UUID, Meeting> refused = new HashMap<>();
+        if (applied.size() < ids.size()) {
+            meetingRepository.findAllById(ids.stream().filter(id -> !applied.contains(id)).toList())
+                    .forEach(meeting -> refused.put(meeting.getId(), meeting));
+        }
+        log.info("Bulk {}: {} of {} meetings updated", request.getAction(), applied.size(), ids.size());
+
+        return BulkActionResponse.of(request.getAction(), ids, applied, id -> {
+            Meeting meeting = refused.get(id);
+            return meeting == null ? BulkOutcome.NOT_FOUND
+                    : !participant.test(meeting) ? BulkOutcome.NOT_YOURS
+                    : BulkOutcome.ALREADY_PROCESSED;
+        });
+    }
+
+    /**
+     * Get one page of the upcoming meetings for current user (from the cached agenda)
      */
-    public List<MeetingResponse> getUpcomingMeetings(String authHeader) {
+    @Transactional(readOnly = true)
+    public CursorPage<MeetingResponse> getUpcomingMeetings(CurrentActor actor, String after, int size) {
         log.info("Fetching upcoming meetings");
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
         LocalDateTime now = LocalDateTime.now();
+        KeysetCursor cursor = KeysetCursor.oldestFirst(after, now);
+        Pageable limit = KeysetCursor.limit(size);
 
-        List<Meeting> meetings;
+        Slice<MeetingView> meetings;
 
-        if ("INVESTOR".equals(user.getRole())) {
-            Investor investor = investorRepository.findByUserId(user.getId())
+        if (actor.isInvestor()) {
+            Investor investor = actor.getInvestor()
                     .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
-            meetings = meetingRepository.findUpcomingMeetingsForInvestor(investor.getId(), now);
-        } else if ("STARTUP".equals(user.getRole())) {
-            StartupDTO startup = startupServiceClient.getMyStartup(authHeader);
-            meetings = meetingRepository.findUpcomingMeetingsForStartup(startup.getId(), now);
+            meetings = agendaCache.upcomingForInvestor(investor.getId(), now, cursor, limit);
+        } else if (actor.isStartup()) {
+            StartupDTO startup = actor.getStartup();
+            meetings = agendaCache.upcomingForStartup(startup.getId(), now, cursor, limit);
         } else {
             throw new RuntimeException("Type d'utilisateur non valide");
         }
 
-        return meetings.stream()
-                .map(MeetingResponse::fromMeeting)
-                .collect(Collectors.toList());
+        return toPage(meetings, meetings.getContent().stream()
+                .map(MeetingResponse::fromView)
+                .collect(Collectors.toList()));
     }
 
     /**
-     * Cancel a meeting
+     * Check whether a slot is free for an investor and/or a startup (open meetings overlapping it):
+     * the caller's own calendar, or the one of a counterpart it has an accepted connection with
      */
-    @Transactional
-    public MeetingResponse cancelMeeting(UUID meetingId, String authHeader) {
-        log.info("Cancelling meeting: {}", meetingId);
+    public AvailabilityResponse checkAvailability(UUID investorId, UUID startupId, LocalDateTime start,
+                                                  int durationMinutes, CurrentActor actor) {
+        if (investorId == null && startupId == null) {
+            throw new RuntimeException("Un investisseur ou une start-up doit être indiqué");
+        }
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UUID ownInvestorId = null;
+        UUID ownStartupId = null;
+        if (actor.isInvestor()) {
+            ownInvestorId = actor.getInvestor()
+                    .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"))
+                    .getId();
+        } else if (actor.isStartup()) {
+            ownStartupId = actor.getStartup().getId();
+        } else {
+            throw new RuntimeException("Type d'utilisateur non valide");
+        }
+        if (investorId != null && !investorId.equals(ownInvestorId) && !isConnected(ownStartupId, investorId)) {
+            throw new RuntimeException("Vous n'avez pas accès aux disponibilités de cet investisseur");
+        }
+        if (startupId != null && !startupId.equals(ownStartupId) && !isConnected(startupId, ownInvestorId)) {
+            throw new RuntimeException("Vous n'avez pas accès aux disponibilités de cette start-up");
+        }
 
-        // Get meeting
-        Meeting meeting = meetingRepository.findById(meetingId)
-                .orElseThrow(() -> new RuntimeException("Réunion non trouvée"));
+        if (start == null || !start.isAfter(LocalDateTime.now())) {
+            throw new RuntimeException("La date de réunion doit être dans le futur");
+        }
+        checkDuration(durationMinutes);
+
+        return AvailabilityResponse.fromSlots(meetingIntervalIndex.conflicts(
+                investorId, startupId, start, start.plusMinutes(durationMinutes)));
+    }
+
+    private boolean isConnected(UUID startupId, UUID investorId) {
+        return startupId != null && investorId != null && connectionRequestRepository
+                .existsByStartupIdAndInvestorIdAndStatut(startupId, investorId, ConnectionStatus.ACCEPTED);
+    }
+
+    /**
+     * Suggest slots in [from, to) where both parties of a connection are free
+     */
+    public SlotSuggestionResponse suggestSlots(UUID connectionId, LocalDateTime from, LocalDateTime to,
+                                               int durationMinutes, int limit, CurrentActor actor) {
+        log.info("Suggesting slots for connection: {}", connectionId);
 
-        // Verify user is part of this meeting
-        boolean canCancel = false;
+        ConnectionRequest connection = connectionRequestRepository.findById(connectionId)
+                .orElseThrow(() -> new RuntimeException("Connexion non trouvée"));
 
-        if ("INVESTOR".equals(user.getRole())) {
-            Investor investor = investorRepository.findByUserId(user.getId())
+        // Verify user is part of this connection (either investor or startup)
+        boolean isParticipant = false;
+        if (actor.isInvestor()) {
+            Investor investor = actor.getInvestor()
                     .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
-            canCancel = meeting.getInvestorId().equals(investor.getId());
-        } else if ("STARTUP".equals(user.getRole())) {
-            StartupDTO startup = startupServiceClient.getMyStartup(authHeader);
-            canCancel = meeting.getStartupId().equals(startup.getId());
+            isParticipant = connection.getInvestorId().equals(investor.getId());
+        } else if (actor.isStartup()) {
+            StartupDTO startup = actor.getStartup();
+            isParticipant = connection.getStartupId().equals(startup.getId());
+        }
+        if (!isParticipant) {
+            throw new RuntimeException("Cette connexion ne vous appartient pas");
         }
 
-        if (!canCancel) {
-            throw new RuntimeException("Vous n'êtes pas autorisé à annuler cette réunion");
+        checkDuration(durationMinutes);
+        if (limit < 1 || limit > MAX_SUGGESTED_SLOTS) {
+            throw new RuntimeException("Le nombre de créneaux doit être compris entre 1 et " + MAX_SUGGESTED_SLOTS);
+        }
+        LocalDateTime windowStart = from != null ? from : LocalDateTime.now();
+        LocalDateTime windowEnd = to != null ? to : windowStart.plusDays(DEFAULT_SUGGESTION_DAYS);
+        if (!windowEnd.isAfter(windowStart)) {
+            throw new RuntimeException("La fin de la période doit être postérieure à son début");
+        }
+
+        List<LocalDateTime> starts = meetingIntervalIndex.freeSlots(connection.getInvestorId(), connection.getStartupId(),
+                windowStart, windowEnd, durationMinutes, limit);
+        log.info("Found {} free slots for connection: {}", starts.size(), connectionId);
+
+        return SlotSuggestionResponse.fromStarts(connectionId, durationMinutes, starts);
+    }
+
+    /**
+     * Owner and change counter of the current user's calendar feed (reads no meeting row)
+     */
+    @Transactional(readOnly = true)
+    public CalendarFeed getCalendarFeed(CurrentActor actor) {
+        CalendarFeed feed;
+        if (actor.isInvestor()) {
+            Investor investor = actor.getInvestor()
+                    .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
+            feed = new CalendarFeed(true, investor.getId(),
+                    meetingRepository.findFeedVersion(investor.getId()).orElse(0L));
+        } else if (actor.isStartup()) {
+            StartupDTO startup = actor.getStartup();
+            feed = new CalendarFeed(false, startup.getId(),
+                    meetingRepository.findFeedVersion(startup.getId()).orElse(0L));
+        } else {
+            throw new RuntimeException("Type d'utilisateur non valide");
+        }
+        return feed;
+    }
+
+    /**
+     * Issue a calendar feed token for the current user, replacing (and so revoking) the previous one.
+     * The token only reads this user's feed; the session token is never accepted in a feed URL.
+     */
+    @Transactional
+    public CalendarTokenResponse rotateCalendarToken(CurrentActor actor) {
+        CalendarFeed feed = getCalendarFeed(actor);
+        byte[] bytes = new byte[CALENDAR_TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        meetingRepository.saveCalendarToken(feed.ownerId(), feed.investor(), hashCalendarToken(token));
+        log.info("Calendar feed token issued for: {}", feed.ownerId());
+        return new CalendarTokenResponse(token, "/api/meetings/calendar.ics?token=" + token);
+    }
+
+    /**
+     * Revoke the current user's calendar feed token
+     */
+    @Transactional
+    public void revokeCalendarToken(CurrentActor actor) {
+        CalendarFeed feed = getCalendarFeed(actor);
+        if (meetingRepository.deleteCalendarToken(feed.ownerId()) == 0) {
+            throw new RuntimeException("Aucun jeton de calendrier actif");
+        }
+        log.info("Calendar feed token revoked for: {}", feed.ownerId());
+    }
+
+    /**
+     * Feed a calendar token reads; empty for an unknown or revoked token
+     */
+    @Transactional(readOnly = true)
+    public Optional<CalendarFeed> getCalendarFeedByToken(String token) {
+        return meetingRepository.findCalendarFeedByToken(hashCalendarToken(token))
+                .map(owner -> new CalendarFeed(owner.investor(), owner.ownerId(), owner.version()));
+    }
+
+    private static byte[] hashCalendarToken(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
+    }
 
-        // Can only cancel PENDING or ACCEPTED meetings
-        if (meeting.getStatus() != MeetingStatus.PENDING && meeting.getStatus() != MeetingStatus.ACCEPTED) {
-            throw new RuntimeException("Cette réunion ne peut pas être annulée");
+    /**
+     * Write the feed's meetings as iCalendar, one VEVENT per row of a database cursor
+     */
+    @Transactional(readOnly = true)
+    public void writeCalendar(CalendarFeed feed, OutputStream out) throws IOException {
+        ICalendarWriter calendar = new ICalendarWriter(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        calendar.begin();
+        try (Stream<MeetingView> meetings = feed.investor()
+                ? meetingRepository.streamCalendarForInvestor(feed.ownerId())
+                : meetingRepository.streamCalendarForStartup(feed.ownerId())) {
+            Iterator<MeetingView> rows = meetings.iterator();
+            while (rows.hasNext()) {
+                calendar.event(rows.next());
+            }
         }
+        calendar.end();
+    }
 
-        // Cancel the meeting
-        meeting.setStatus(MeetingStatus.CANCELLED);
-        meeting.setRespondedAt(LocalDateTime.now());
+    /**
+     * Cancel a meeting
+     */
+    @Transactional
+    public MeetingResponse cancelMeeting(UUID meetingId, CurrentActor actor) {
+        log.info("Cancelling meeting: {}", meetingId);
+
+        // Cancel the meeting if the caller takes part in it and it is PENDING or ACCEPTED (single conditional UPDATE)
+        Optional<Meeting> cancelled;
+        Predicate<Meeting> participant;
+
+        if (actor.isInvestor()) {
+            Investor investor = actor.getInvestor()
+                    .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
+            cancelled = meetingRepository.cancelForInvestor(meetingId, investor.getId());
+            participant = meeting -> meeting.getInvestorId().equals(investor.getId());
+        } else if (actor.isStartup()) {
+            StartupDTO startup = actor.getStartup();
+            cancelled = meetingRepository.cancelForStartup(meetingId, startup.getId());
+            participant = meeting -> meeting.getStartupId().equals(startup.getId());
+        } else {
+            throw new RuntimeException("Vous n'êtes pas autorisé à annuler cette réunion");
+        }
 
-        Meeting updated = meetingRepository.save(meeting);
+        Meeting updated = cancelled.orElseThrow(() -> {
+            // matched no row: find out why (extra read on the failure path only)
+            Meeting meeting = meetingRepository.findById(meetingId)
+                    .orElseThrow(() -> new RuntimeException("Réunion non trouvée"));
+            if (!participant.test(meeting)) {
+                return new RuntimeException("Vous n'êtes pas autorisé à annuler cette réunion");
+            }
+            return new RuntimeException("Cette réunion ne peut pas être annulée");
+        });
+        publishChanged(updated);
         log.info("Meeting cancelled: {}", meetingId);
 
         return MeetingResponse.fromMeeting(updated);
     }
+
+    private Meeting saveOnePending(Meeting meeting) {
+        try {
+            return meetingRepository.saveAndFlush(meeting);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.violates(e, ConstraintViolations.PENDING_MEETING)) {
+                throw new RuntimeException("Une réunion est déjà en attente pour cette connexion");
+            }
+            if (ConstraintViolations.violates(e, ConstraintViolations.INVESTOR_OVERLAP)) {
+                throw new RuntimeException("L'investisseur a déjà une réunion sur ce créneau");
+            }
+            if (ConstraintViolations.violates(e, ConstraintViolations.STARTUP_OVERLAP)) {
+                throw new RuntimeException("La start-up a déjà une réunion sur ce créneau");
+            }
+            throw e;
+        }
+    }
+
+    private static void checkDuration(int durationMinutes) {
+        if (durationMinutes < Meeting.MIN_DURATION_MINUTES || durationMinutes > Meeting.MAX_DURATION_MINUTES) {
+            throw new RuntimeException("La durée doit être comprise entre " + Meeting.MIN_DURATION_MINUTES
+                    + " et " + Meeting.MAX_DURATION_MINUTES + " minutes");
+        }
+    }
+
+    // Listeners (MeetingIntervalIndex, AgendaCache, ReminderScheduler) run once the transaction has committed
+    private void publishChanged(Meeting meeting) {
+        eventPublisher.publishEvent(new MeetingChangedEvent(meeting.getId(), meeting.getInvestorId(), meeting.getStartupId(),
+                meeting.getMeetingDate(), meeting.getStatus()));
+    }
+
+    // The conditional UPDATE matched no row: find out why (extra read on the failure path only)
+    private RuntimeException responseRefused(UUID meetingId, UUID startupId) {
+        Meeting meeting = meetingRepository.findById(meetingId).orElse(null);
+        if (meeting == null) {
+            return new RuntimeException("Réunion non trouvée");
+        }
+        if (!meeting.getStartupId().equals(startupId)) {
+            return new RuntimeException("Cette réunion ne vous appartient pas");
+        }
+        return new RuntimeException("Cette réunion a déjà été traitée");
+    }
+
+    // no status filter means every status
+    private static Collection<MeetingStatus> orAll(List<MeetingStatus> statuses) {
+        return statuses == null || statuses.isEmpty() ? EnumSet.allOf(MeetingStatus.class) : statuses;
+    }
+
+    private static CursorPage<MeetingResponse> toPage(Slice<MeetingView> slice, List<MeetingResponse> content) {
+        return new CursorPage<>(content, KeysetCursor.after(slice, MeetingView::meetingDate, MeetingView::id));
+    }
 }
@@ -2,13 +2,14 @@ package ma.startup.platform.investorservice.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import ma.startup.platform.investorservice.client.AuthServiceClient;
 import ma.startup.platform.investorservice.client.StartupServiceClient;
 import ma.startup.platform.investorservice.dto.*;
 import ma.startup.platform.investorservice.model.Investor;
 import ma.startup.platform.investorservice.model.MatchingResult;
 import ma.startup.platform.investorservice.repository.InvestorRepository;
+import ma.startup.platform.investorservice.replica.StartupCatalogReplica;
 import ma.startup.platform.investorservice.repository.MatchingResultRepository;
+import ma.startup.platform.investorservice.security.CurrentActor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -23,28 +24,27 @@ public class StartupDetailService {
     private final StartupServiceClient startupServiceClient;
     private final InvestorRepository investorRepository;
     private final MatchingResultRepository matchingResultRepository;
-    private final AuthServiceClient authServiceClient;
+    private final StartupCatalogReplica startupCatalogReplica;
 
     /**
      * Get detailed startup information for investor
      */
-    public StartupDetailResponse getStartupDetails(UUID startupId, String authHeader) {
+    public StartupDetailResponse getStartupDetails(UUID startupId, CurrentActor actor) {
         log.info("Fetching detailed info for startup: {}", startupId);
 
         // Verify user is an investor
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-        if (!"INVESTOR".equals(user.getRole())) {
+        if (!actor.isInvestor()) {
             throw new RuntimeException("Seuls les investisseurs peuvent consulter les détails des start-ups");
         }
 
         // Get investor profile
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = actor.getInvestor()
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
         // Fetch startup basic info
         StartupDTO startup;
         try {
-            startup = startupServiceClient.getStartupById(startupId, authHeader);
+            startup = startupCatalogReplica.getStartupById(startupId, actor.getAuthHeader());
         } catch (Exception e) {
             log.error("Error fetching startup: {}", e.getMessage());
             throw new RuntimeException("Start-up non trouvée");
@@ -53,7 +53,7 @@ public class StartupDetailService {
         // Fetch team members
         List<FounderMemberDTO> teamMembers;
         try {
-            teamMembers = startupServiceClient.getTeamByStartupId(startupId, authHeader);
+            teamMembers = startupServiceClient.getTeamByStartupId(startupId, actor.getAuthHeader());
         } catch (Exception e) {
             log.warn("Could not fetch team members: {}", e.getMessage());
             teamMembers = List.of();
@@ -62,7 +62,7 @@ public class StartupDetailService {
         // Fetch milestones
         List<MilestoneDTO> milestones;
         try {
-            milestones = startupServiceClient.getMilestonesByStartupId(startupId, authHeader);
+            milestones = startupServiceClient.getMilestonesByStartupId(startupId, actor.getAuthHeader());
         } catch (Exception e) {
             log.warn("Could not fetch milestones: {}", e.getMessage());
             milestones = List.of();
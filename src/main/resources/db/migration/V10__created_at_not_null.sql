@@ -0,0 +1,22 @@
+-- The keyset pages of the inboxes and of GET /api/investors compare (created_at, id) with a
+-- row comparison, which is never true for a NULL created_at: such rows were silently skipped.
+-- Rows written before the column was always filled get their response time if they have one,
+-- otherwise the time of this migration; the number of rows touched is reported.
+
+DO $$
+DECLARE
+    filled BIGINT;
+BEGIN
+    UPDATE connection_requests SET created_at = COALESCE(responded_at, now()) WHERE created_at IS NULL;
+    GET DIAGNOSTICS filled = ROW_COUNT;
+    RAISE NOTICE 'connection_requests: created_at backfilled on % row(s)', filled;
+
+    UPDATE investors SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL;
+    GET DIAGNOSTICS filled = ROW_COUNT;
+    RAISE NOTICE 'investors: created_at backfilled on % row(s)', filled;
+END $$;
+
+ALTER TABLE connection_requests ALTER COLUMN created_at SET DEFAULT now();
+ALTER TABLE connection_requests ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE investors ALTER COLUMN created_at SET DEFAULT now();
+ALTER TABLE investors ALTER COLUMN created_at SET NOT NULL;
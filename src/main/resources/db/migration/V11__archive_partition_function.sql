@@ -0,0 +1,25 @@
+-- Monthly archive partitions for ArchivalJob. Several instances can run the job at the same
+-- time: creation is serialized per archive table with a transaction-scoped advisory lock, and a
+-- partition another instance created meanwhile (duplicate_table, 42P07) counts as done. Names
+-- and bounds are built here from the month, never concatenated by the caller.
+
+CREATE OR REPLACE FUNCTION ensure_archive_partition(parent TEXT, month DATE) RETURNS VOID AS $$
+DECLARE
+    first_day DATE := date_trunc('month', month)::DATE;
+    partition TEXT := parent || to_char(first_day, '"_y"YYYY"m"MM');
+BEGIN
+    IF parent NOT IN ('connection_requests_archive', 'meetings_archive') THEN
+        RAISE EXCEPTION 'not an archive table: %', parent;
+    END IF;
+    PERFORM pg_advisory_xact_lock(hashtext('investor_schema.' || parent));
+    IF to_regclass(format('investor_schema.%I', partition)) IS NOT NULL THEN
+        RETURN;
+    END IF;
+    EXECUTE format('CREATE TABLE investor_schema.%I PARTITION OF investor_schema.%I FOR VALUES FROM (%L) TO (%L)',
+                   partition, parent, first_day, (first_day + INTERVAL '1 month')::DATE);
+EXCEPTION
+    WHEN duplicate_table THEN
+        -- committed by another instance while we waited, not yet visible to the lookup above
+        NULL;
+END;
+$$ LANGUAGE plpgsql;
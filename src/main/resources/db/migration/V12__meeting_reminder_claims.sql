@@ -0,0 +1,10 @@
+-- Reminders sent (ReminderScheduler): every instance schedules every reminder, and the one
+-- whose conditional write succeeds sends it. reminded_at is when the last reminder claimed for
+-- the meeting was due; a later one is claimed by moving it forward, never twice at the same time.
+-- Kept out of meetings so a claim does not bump the calendar feed versions (V9); rows go with
+-- their meeting (archival, deletion).
+
+CREATE TABLE IF NOT EXISTS meeting_reminder_claims (
+    meeting_id  UUID PRIMARY KEY REFERENCES meetings (id) ON DELETE CASCADE,
+    reminded_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,11 @@
+-- Calendar feed tokens (GET /api/meetings/calendar.ics?token=): calendar apps cannot send an
+-- Authorization header, so each investor / startup can issue a random token that only reads
+-- their own feed. One per owner: issuing a new one replaces (rotates) it, deleting revokes it.
+-- Only the SHA-256 of the token is stored.
+
+CREATE TABLE IF NOT EXISTS calendar_feed_tokens (
+    owner_id   UUID PRIMARY KEY,
+    investor   BOOLEAN      NOT NULL,
+    token_hash BYTEA        NOT NULL UNIQUE,
+    created_at TIMESTAMP(6) NOT NULL DEFAULT now()
+);
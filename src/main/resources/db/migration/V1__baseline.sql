@@ -0,0 +1,52 @@
+-- Baseline of investor_schema as mapped by the JPA entities.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE IF NOT EXISTS investors (
+    id                UUID PRIMARY KEY,
+    user_id           UUID         NOT NULL,
+    nom               VARCHAR(255) NOT NULL,
+    type              VARCHAR(255) NOT NULL,
+    secteurs_interets TEXT,
+    montant_min       NUMERIC(15, 2),
+    montant_max       NUMERIC(15, 2),
+    description       TEXT,
+    localisation      VARCHAR(255),
+    portfolio         TEXT,
+    site_web          VARCHAR(255),
+    email             VARCHAR(255),
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS connection_requests (
+    id           UUID PRIMARY KEY,
+    startup_id   UUID         NOT NULL,
+    investor_id  UUID         NOT NULL,
+    message      TEXT,
+    statut       VARCHAR(255) NOT NULL,
+    created_at   TIMESTAMP(6),
+    responded_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS meetings (
+    id            UUID PRIMARY KEY,
+    connection_id UUID         NOT NULL,
+    investor_id   UUID         NOT NULL,
+    startup_id    UUID         NOT NULL,
+    meeting_date  TIMESTAMP(6) NOT NULL,
+    meeting_place VARCHAR(500),
+    message       TEXT,
+    status        VARCHAR(255) NOT NULL,
+    created_at    TIMESTAMP(6),
+    responded_at  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS matching_results (
+    id          UUID PRIMARY KEY,
+    startup_id  UUID    NOT NULL,
+    investor_id UUID    NOT NULL,
+    score       INTEGER NOT NULL,
+    criteria    TEXT,
+    created_at  TIMESTAMP(6),
+    is_viewed   BOOLEAN
+);
@@ -0,0 +1,37 @@
+-- One index per repository access path (column order = equality columns, then sort/range column).
+
+-- InvestorRepository
+CREATE INDEX IF NOT EXISTS idx_investors_user_id ON investors (user_id);
+CREATE INDEX IF NOT EXISTS idx_investors_type ON investors (type);
+CREATE INDEX IF NOT EXISTS idx_investors_localisation ON investors (localisation);
+
+-- ConnectionRequestRepository
+CREATE INDEX IF NOT EXISTS idx_connection_requests_investor_created
+    ON connection_requests (investor_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_connection_requests_startup_created
+    ON connection_requests (startup_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_connection_requests_investor_statut
+    ON connection_requests (investor_id, statut);
+-- also serves findByStartupIdAndStatut / findActiveConnectionsForStartup via its prefix
+CREATE INDEX IF NOT EXISTS idx_connection_requests_startup_statut_investor
+    ON connection_requests (startup_id, statut, investor_id);
+
+-- MeetingRepository
+CREATE INDEX IF NOT EXISTS idx_meetings_investor_date
+    ON meetings (investor_id, meeting_date DESC);
+CREATE INDEX IF NOT EXISTS idx_meetings_startup_date
+    ON meetings (startup_id, meeting_date DESC);
+CREATE INDEX IF NOT EXISTS idx_meetings_investor_status_date
+    ON meetings (investor_id, status, meeting_date);
+CREATE INDEX IF NOT EXISTS idx_meetings_startup_status_date
+    ON meetings (startup_id, status, meeting_date);
+CREATE INDEX IF NOT EXISTS idx_meetings_connection_status
+    ON meetings (connection_id, status);
+
+-- MatchingResultRepository
+CREATE INDEX IF NOT EXISTS idx_matching_results_startup_score
+    ON matching_results (startup_id, score DESC);
+CREATE INDEX IF NOT EXISTS idx_matching_results_investor_score
+    ON matching_results (investor_id, score DESC);
+CREATE INDEX IF NOT EXISTS idx_matching_results_startup_investor
+    ON matching_results (startup_id, investor_id);
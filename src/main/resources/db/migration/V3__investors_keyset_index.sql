@@ -0,0 +1,2 @@
+-- Keyset pagination of GET /api/investors?after=createdAt,id (newest first)
+CREATE INDEX IF NOT EXISTS idx_investors_created_id ON investors (created_at DESC, id DESC);
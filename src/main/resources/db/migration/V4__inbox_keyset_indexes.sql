@@ -0,0 +1,34 @@
+-- Keyset-paginated inboxes: every list orders by (timestamp, id), so the id becomes
+-- the last index column and the row comparison (timestamp, id) < (:ts, :id) is an index bound.
+-- The new indexes replace the V2 ones they extend.
+
+-- ConnectionRequestRepository: received / sent, optionally filtered on statut
+CREATE INDEX IF NOT EXISTS idx_connection_requests_investor_created_id
+    ON connection_requests (investor_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_connection_requests_startup_created_id
+    ON connection_requests (startup_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_connection_requests_investor_created;
+DROP INDEX IF EXISTS idx_connection_requests_startup_created;
+
+-- single-statut filters and the active (ACCEPTED) connection lists
+CREATE INDEX IF NOT EXISTS idx_connection_requests_investor_statut_created_id
+    ON connection_requests (investor_id, statut, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_connection_requests_startup_statut_created_id
+    ON connection_requests (startup_id, statut, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_connection_requests_investor_statut;
+
+-- MeetingRepository: received / sent, optionally filtered on status
+CREATE INDEX IF NOT EXISTS idx_meetings_investor_date_id
+    ON meetings (investor_id, meeting_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_meetings_startup_date_id
+    ON meetings (startup_id, meeting_date DESC, id DESC);
+DROP INDEX IF EXISTS idx_meetings_investor_date;
+DROP INDEX IF EXISTS idx_meetings_startup_date;
+
+-- upcoming (ACCEPTED, soonest first) and single-status filters
+CREATE INDEX IF NOT EXISTS idx_meetings_investor_status_date_id
+    ON meetings (investor_id, status, meeting_date, id);
+CREATE INDEX IF NOT EXISTS idx_meetings_startup_status_date_id
+    ON meetings (startup_id, status, meeting_date, id);
+DROP INDEX IF EXISTS idx_meetings_investor_status_date;
+DROP INDEX IF EXISTS idx_meetings_startup_status_date;
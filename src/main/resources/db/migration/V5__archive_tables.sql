@@ -0,0 +1,50 @@
+-- Archive of terminal rows moved out of the hot tables by ArchivalJob.
+-- Range-partitioned by month on the column the archive is read by; the job creates the
+-- monthly partitions it needs. Rows without a partition key land in the DEFAULT partition.
+
+CREATE TABLE IF NOT EXISTS connection_requests_archive (
+    id           UUID         NOT NULL,
+    startup_id   UUID         NOT NULL,
+    investor_id  UUID         NOT NULL,
+    message      TEXT,
+    statut       VARCHAR(255) NOT NULL,
+    created_at   TIMESTAMP(6),
+    responded_at TIMESTAMP(6),
+    archived_at  TIMESTAMP(6) NOT NULL DEFAULT now()
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE IF NOT EXISTS connection_requests_archive_default
+    PARTITION OF connection_requests_archive DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_connection_requests_archive_investor
+    ON connection_requests_archive (investor_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_connection_requests_archive_startup
+    ON connection_requests_archive (startup_id, created_at);
+
+CREATE TABLE IF NOT EXISTS meetings_archive (
+    id            UUID         NOT NULL,
+    connection_id UUID         NOT NULL,
+    investor_id   UUID         NOT NULL,
+    startup_id    UUID         NOT NULL,
+    meeting_date  TIMESTAMP(6) NOT NULL,
+    meeting_place VARCHAR(500),
+    message       TEXT,
+    status        VARCHAR(255) NOT NULL,
+    created_at    TIMESTAMP(6),
+    responded_at  TIMESTAMP(6),
+    archived_at   TIMESTAMP(6) NOT NULL DEFAULT now()
+) PARTITION BY RANGE (meeting_date);
+
+CREATE TABLE IF NOT EXISTS meetings_archive_default
+    PARTITION OF meetings_archive DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_meetings_archive_investor
+    ON meetings_archive (investor_id, meeting_date);
+CREATE INDEX IF NOT EXISTS idx_meetings_archive_startup
+    ON meetings_archive (startup_id, meeting_date);
+
+-- Archival candidates in the hot tables (small partial indexes, oldest first)
+CREATE INDEX IF NOT EXISTS idx_connection_requests_rejected_created
+    ON connection_requests (created_at) WHERE statut = 'REJECTED';
+CREATE INDEX IF NOT EXISTS idx_meetings_closed_date
+    ON meetings (meeting_date) WHERE status IN ('REJECTED', 'CANCELLED', 'COMPLETED');
@@ -0,0 +1,39 @@
+-- At most one PENDING connection request per (startup, investor) and one PENDING meeting per
+-- connection, enforced by the database instead of an exists-then-insert check.
+
+-- Existing duplicates are not resolved here (closing one would look like a user's answer):
+-- the migration stops and lists them, to be answered or withdrawn before migrating again.
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(format('startup %s / investor %s: %s', startup_id, investor_id, ids), E'\n')
+    INTO duplicates
+    FROM (SELECT startup_id, investor_id, string_agg(id::TEXT, ', ' ORDER BY created_at, id) AS ids
+          FROM connection_requests
+          WHERE statut = 'PENDING'
+          GROUP BY startup_id, investor_id
+          HAVING count(*) > 1) d;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'Several PENDING connection requests for the same startup and investor'
+            USING DETAIL = duplicates;
+    END IF;
+
+    SELECT string_agg(format('connection %s: %s', connection_id, ids), E'\n')
+    INTO duplicates
+    FROM (SELECT connection_id, string_agg(id::TEXT, ', ' ORDER BY created_at, id) AS ids
+          FROM meetings
+          WHERE status = 'PENDING'
+          GROUP BY connection_id
+          HAVING count(*) > 1) d;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'Several PENDING meetings for the same connection'
+            USING DETAIL = duplicates;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_connection_requests_pending
+    ON connection_requests (startup_id, investor_id) WHERE statut = 'PENDING';
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_meetings_pending_connection
+    ON meetings (connection_id) WHERE status = 'PENDING';
@@ -0,0 +1,45 @@
+-- Meetings get a duration; an investor or a startup can not be in two open (PENDING / ACCEPTED)
+-- meetings whose [meeting_date, meeting_date + duration) slots overlap. Enforced by GiST
+-- exclusion constraints, so the check is an index probe whatever the meeting history size.
+-- meeting_date is TIMESTAMP (no time zone), hence tsrange.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE meetings ADD COLUMN IF NOT EXISTS duration_minutes INTEGER NOT NULL DEFAULT 60;
+ALTER TABLE meetings_archive ADD COLUMN IF NOT EXISTS duration_minutes INTEGER NOT NULL DEFAULT 60;
+
+-- Existing double bookings are not resolved here (cancelling one would look like a user's
+-- action): the migration stops and lists them, to be rescheduled or cancelled before migrating again.
+DO $$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    SELECT string_agg(format('%s %s: %s / %s', side, participant_id, first_id, second_id), E'\n' ORDER BY side, participant_id)
+    INTO conflicts
+    FROM (SELECT 'investor' AS side, a.investor_id AS participant_id, a.id AS first_id, b.id AS second_id,
+                 tsrange(a.meeting_date, a.meeting_date + a.duration_minutes * interval '1 minute') AS a_slot,
+                 tsrange(b.meeting_date, b.meeting_date + b.duration_minutes * interval '1 minute') AS b_slot
+          FROM meetings a JOIN meetings b ON b.investor_id = a.investor_id AND b.id > a.id
+          WHERE a.status IN ('PENDING', 'ACCEPTED') AND b.status IN ('PENDING', 'ACCEPTED')
+          UNION ALL
+          SELECT 'startup', a.startup_id, a.id, b.id,
+                 tsrange(a.meeting_date, a.meeting_date + a.duration_minutes * interval '1 minute'),
+                 tsrange(b.meeting_date, b.meeting_date + b.duration_minutes * interval '1 minute')
+          FROM meetings a JOIN meetings b ON b.startup_id = a.startup_id AND b.id > a.id
+          WHERE a.status IN ('PENDING', 'ACCEPTED') AND b.status IN ('PENDING', 'ACCEPTED')) pairs
+    WHERE a_slot && b_slot;
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'Overlapping open meetings (PENDING / ACCEPTED) for the same investor or startup'
+            USING DETAIL = conflicts;
+    END IF;
+END $$;
+
+ALTER TABLE meetings ADD CONSTRAINT ex_meetings_investor_overlap EXCLUDE USING gist (
+    investor_id WITH =,
+    tsrange(meeting_date, meeting_date + duration_minutes * interval '1 minute') WITH &&
+) WHERE (status IN ('PENDING', 'ACCEPTED'));
+
+ALTER TABLE meetings ADD CONSTRAINT ex_meetings_startup_overlap EXCLUDE USING gist (
+    startup_id WITH =,
+    tsrange(meeting_date, meeting_date + duration_minutes * interval '1 minute') WITH &&
+) WHERE (status IN ('PENDING', 'ACCEPTED'));
@@ -0,0 +1,4 @@
+-- Reminder refill (ReminderScheduler): ACCEPTED meetings starting within the horizon, read in
+-- (meeting_date, id) keyset pages across all participants. Small partial index, soonest first.
+CREATE INDEX IF NOT EXISTS idx_meetings_accepted_date_id
+    ON meetings (meeting_date, id) WHERE status = 'ACCEPTED';
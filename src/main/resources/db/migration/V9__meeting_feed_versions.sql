@@ -0,0 +1,50 @@
+-- Calendar feed ETags (GET /api/meetings/calendar.ics): one change counter per investor / startup,
+-- bumped by the database for every insert, update or delete of one of their meetings, whichever
+-- code path wrote it (services, bulk updates, auto-completion, archival). A conditional GET then
+-- reads one row here instead of the meetings table.
+-- Statement-level triggers: one upsert per statement, locking the counters in id order.
+
+CREATE TABLE IF NOT EXISTS meeting_feed_versions (
+    participant_id UUID PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+CREATE OR REPLACE FUNCTION bump_meeting_feed_versions() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO meeting_feed_versions AS v (participant_id, version)
+        SELECT id, 1 FROM (SELECT investor_id FROM new_rows UNION SELECT startup_id FROM new_rows) ids (id)
+        ORDER BY id
+        ON CONFLICT (participant_id) DO UPDATE SET version = v.version + 1;
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO meeting_feed_versions AS v (participant_id, version)
+        SELECT id, 1 FROM (SELECT investor_id FROM new_rows UNION SELECT startup_id FROM new_rows
+                           UNION SELECT investor_id FROM old_rows UNION SELECT startup_id FROM old_rows) ids (id)
+        ORDER BY id
+        ON CONFLICT (participant_id) DO UPDATE SET version = v.version + 1;
+    ELSE
+        INSERT INTO meeting_feed_versions AS v (participant_id, version)
+        SELECT id, 1 FROM (SELECT investor_id FROM old_rows UNION SELECT startup_id FROM old_rows) ids (id)
+        ORDER BY id
+        ON CONFLICT (participant_id) DO UPDATE SET version = v.version + 1;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql
+-- the schema this migration runs in, whatever the search_path of the session writing meetings
+SET search_path FROM CURRENT;
+
+DROP TRIGGER IF EXISTS trg_meetings_feed_versions_insert ON meetings;
+CREATE TRIGGER trg_meetings_feed_versions_insert AFTER INSERT ON meetings
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_meeting_feed_versions();
+
+DROP TRIGGER IF EXISTS trg_meetings_feed_versions_update ON meetings;
+CREATE TRIGGER trg_meetings_feed_versions_update AFTER UPDATE ON meetings
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_meeting_feed_versions();
+
+DROP TRIGGER IF EXISTS trg_meetings_feed_versions_delete ON meetings;
+CREATE TRIGGER trg_meetings_feed_versions_delete AFTER DELETE ON meetings
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_meeting_feed_versions();
@@ -0,0 +1,89 @@
+package ma.startup.platform.investorservice.archive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the archival moves on seeded rows (batch size 2, so several batches per run).
+ * Everything, including the partitions created, is rolled back.
+ */
+@SpringBootTest(properties = "investor.archive.batch-size=2")
+@Transactional
+class ArchivalJobTest {
+
+    private static final String SEEDED = "startup_id = md5('archival')::uuid";
+
+    @Autowired
+    private ArchivalJob archivalJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("SET LOCAL search_path TO investor_schema");
+        // 5 old REJECTED (spread over several months), 3 recent REJECTED, 2 old PENDING
+        jdbcTemplate.execute("""
+                INSERT INTO connection_requests (id, startup_id, investor_id, statut, created_at)
+                SELECT gen_random_uuid(), md5('archival')::uuid, gen_random_uuid(),
+                       CASE WHEN g <= 8 THEN 'REJECTED' ELSE 'PENDING' END,
+                       CASE WHEN g BETWEEN 6 AND 8 THEN now() - g * interval '1 day'
+                            ELSE now() - (200 + g * 30) * interval '1 day' END
+                FROM generate_series(1, 10) g
+                """);
+        // 3 old closed meetings, 1 old ACCEPTED, 1 recent CANCELLED
+        jdbcTemplate.execute("""
+                INSERT INTO meetings (id, connection_id, investor_id, startup_id, meeting_date, status, created_at)
+                SELECT gen_random_uuid(), gen_random_uuid(), gen_random_uuid(), md5('archival')::uuid,
+                       CASE WHEN g = 5 THEN now() - interval '2 days' ELSE now() - (200 + g * 30) * interval '1 day' END,
+                       (ARRAY['REJECTED', 'CANCELLED', 'COMPLETED', 'ACCEPTED', 'CANCELLED'])[g],
+                       now() - interval '1 year'
+                FROM generate_series(1, 5) g
+                """);
+    }
+
+    @Test
+    void movesOldRejectedConnectionRequestsToTheArchive() {
+        int moved = archivalJob.archiveConnections(LocalDateTime.now().minusDays(180));
+
+        assertThat(moved).isEqualTo(5);
+        assertThat(count("connection_requests")).isEqualTo(5);
+        assertThat(count("connection_requests_archive")).isEqualTo(5);
+        assertThat(count("connection_requests_archive_default")).isZero();
+        assertThat(partitions("connection_requests_archive")).isGreaterThan(2);
+    }
+
+    @Test
+    void movesOldClosedMeetingsToTheArchive() {
+        int moved = archivalJob.archiveMeetings(LocalDateTime.now().minusDays(180));
+
+        assertThat(moved).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM meetings WHERE " + SEEDED, String.class))
+                .containsExactlyInAnyOrder("ACCEPTED", "CANCELLED");
+        assertThat(count("meetings_archive")).isEqualTo(3);
+        assertThat(count("meetings_archive_default")).isZero();
+    }
+
+    @Test
+    void nothingToArchiveIsANoOp() {
+        assertThat(archivalJob.archiveConnections(LocalDateTime.now().minusYears(10))).isZero();
+        assertThat(archivalJob.archiveMeetings(LocalDateTime.now().minusYears(10))).isZero();
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE " + SEEDED, Long.class);
+    }
+
+    private long partitions(String table) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_inherits WHERE inhparent = ?::regclass", Long.class, table);
+    }
+}
@@ -0,0 +1,74 @@
+package ma.startup.platform.investorservice.archive;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Several instances creating the same archive partitions at once (each call commits on its
+ * own connection, so the partitions are dropped afterwards).
+ */
+@SpringBootTest
+class ArchivePartitionConcurrencyTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2199, 1, 15, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2199, 3, 1, 0, 0);
+
+    @Autowired
+    private ArchivalJob archivalJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentInstancesCreateEachPartitionOnce() throws Exception {
+        ExecutorService instances = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                runs.add(instances.submit(() -> archivalJob.ensureMonthlyPartitions("meetings_archive", FROM, TO)));
+            }
+            for (Future<?> run : runs) {
+                run.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            instances.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT c.relname || ' ' || pg_get_expr(c.relpartbound, c.oid)
+                FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'investor_schema.meetings_archive'::regclass AND c.relname LIKE '%y2199%'
+                ORDER BY c.relname
+                """, String.class)).containsExactly(
+                "meetings_archive_y2199m01 FOR VALUES FROM ('2199-01-01 00:00:00') TO ('2199-02-01 00:00:00')",
+                "meetings_archive_y2199m02 FOR VALUES FROM ('2199-02-01 00:00:00') TO ('2199-03-01 00:00:00')",
+                "meetings_archive_y2199m03 FOR VALUES FROM ('2199-03-01 00:00:00') TO ('2199-04-01 00:00:00')");
+    }
+
+    @Test
+    void onlyArchiveTablesArePartitioned() {
+        assertThatThrownBy(() -> archivalJob.ensureMonthlyPartitions("meetings", FROM, FROM))
+                .hasMessageContaining("not an archive table");
+    }
+
+    @AfterEach
+    void dropPartitions() {
+        for (String month : List.of("01", "02", "03")) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS investor_schema.meetings_archive_y2199m" + month);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ma.startup.platform.investorservice.archive;
+
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Completes seeded meetings that are over (batch size 2, so several batches per run), never
+ * more than one batch per statement. Rolled back.
+ */
+@SpringBootTest(properties = "investor.meeting-completion.batch-size=2")
+@Transactional
+class MeetingCompletionJobTest {
+
+    @Autowired
+    private MeetingCompletionJob meetingCompletionJob;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("SET LOCAL search_path TO investor_schema");
+        // 3 ACCEPTED and over, 1 ACCEPTED still running, 1 ACCEPTED tomorrow, 1 PENDING in the past
+        jdbcTemplate.execute("""
+                INSERT INTO meetings (id, connection_id, investor_id, startup_id, meeting_date, duration_minutes,
+                                      status, created_at)
+                SELECT gen_random_uuid(), gen_random_uuid(), gen_random_uuid(), md5('completion')::uuid,
+                       (ARRAY[now() - interval '3 days', now() - interval '2 days', now() - interval '2 hours',
+                              now() - interval '10 minutes', now() + interval '1 day', now() - interval '5 days'])[g],
+                       60, CASE WHEN g = 6 THEN 'PENDING' ELSE 'ACCEPTED' END, now() - interval '1 week'
+                FROM generate_series(1, 6) g
+                """);
+    }
+
+    @Test
+    void completesOnlyAcceptedMeetingsThatAreOver() {
+        int completed = meetingCompletionJob.completeEndedBy(LocalDateTime.now());
+
+        assertThat(completed).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT status FROM meetings WHERE startup_id = md5('completion')::uuid", String.class))
+                .containsExactlyInAnyOrder("COMPLETED", "COMPLETED", "COMPLETED", "ACCEPTED", "ACCEPTED", "PENDING");
+        assertThat(meetingCompletionJob.lagSeconds()).isZero();
+    }
+
+    @Test
+    void eachStatementCompletesAtMostOneBatch() {
+        jdbcTemplate.execute("""
+                INSERT INTO meetings (id, connection_id, investor_id, startup_id, meeting_date, duration_minutes,
+                                      status, created_at)
+                SELECT gen_random_uuid(), gen_random_uuid(), gen_random_uuid(), md5('completion')::uuid,
+                       now() - g * interval '1 day', 60, 'ACCEPTED', now() - interval '1 month'
+                FROM generate_series(10, 29) g
+                """);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Integer> batches = new ArrayList<>();
+        int batch;
+        do {
+            batch = meetingRepository.completeEndedBy(now, 5);
+            batches.add(batch);
+        } while (batch > 0);
+
+        assertThat(batches).containsExactly(5, 5, 5, 5, 3, 0);
+    }
+
+    @Test
+    void lagIsMeasuredFromTheEndOfTheOldestMeetingLeftOver() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(meetingRepository.findOldestEndedAcceptedBy(now))
+                .isBetween(now.minusDays(3).plusMinutes(59), now.minusDays(3).plusMinutes(61));
+    }
+}
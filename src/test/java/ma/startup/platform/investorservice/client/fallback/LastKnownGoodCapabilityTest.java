@@ -0,0 +1,134 @@
+package ma.startup.platform.investorservice.client.fallback;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.FeignException;
+import feign.InvocationHandlerFactory;
+import feign.Target;
+import feign.codec.Decoder;
+import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.client.StartupServiceClient;
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Real Feign clients against a stub server, behind a stand-in for the circuit breaker
+ * handler (dependency call, fallback factory on failure) that the capability wraps as in
+ * the application: only real answers are recorded, so a served entry still expires 'ttl'
+ * after the last success, and auth-service never falls back.
+ */
+class LastKnownGoodCapabilityTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final LastKnownGoodCache cache = new LastKnownGoodCache(100, TTL, ticker);
+    private final UUID startupId = UUID.randomUUID();
+
+    private HttpServer server;
+    private volatile int status = 200;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api", exchange -> {
+            byte[] body = exchange.getRequestURI().getPath().endsWith("/users/me")
+                    ? ("{\"id\":\"" + UUID.randomUUID() + "\",\"role\":\"STARTUP\"}").getBytes(StandardCharsets.UTF_8)
+                    : ("{\"id\":\"" + startupId + "\",\"nom\":\"Atlas\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void fallbackAnswersAreNotRecordedSoStaleEntriesExpire() {
+        StartupServiceClient client = client(StartupServiceClient.class, "startup-service",
+                new StartupServiceClientFallbackFactory(cache));
+        assertThat(client.getStartupById(startupId, "Bearer t").getNom()).isEqualTo("Atlas");
+
+        status = 503;
+        advance(Duration.ofMinutes(40));
+        assertThat(client.getStartupById(startupId, "Bearer t").getNom()).isEqualTo("Atlas");
+        advance(Duration.ofMinutes(15));
+        assertThat(client.getStartupById(startupId, "Bearer t").getNom()).isEqualTo("Atlas");
+
+        // 1h after the last real answer, whatever was served meanwhile
+        advance(Duration.ofMinutes(6));
+        assertThatThrownBy(() -> client.getStartupById(startupId, "Bearer t"))
+                .isInstanceOf(FeignException.ServiceUnavailable.class);
+    }
+
+    @Test
+    void authServiceNeverFallsBack() {
+        AuthServiceClient client = client(AuthServiceClient.class, "auth-service", new AuthServiceClientFallbackFactory());
+        assertThat(client.getCurrentUser("Bearer t").getRole()).isEqualTo("STARTUP");
+
+        status = 500;
+        assertThatThrownBy(() -> client.getCurrentUser("Bearer t"))
+                .isInstanceOf(FeignException.InternalServerError.class);
+        assertThatThrownBy(() -> client.getCurrentUser("Bearer t"))
+                .isInstanceOf(FeignException.InternalServerError.class);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private <T> T client(Class<T> type, String name, FallbackFactory<? extends T> fallbackFactory) {
+        String url = "http://localhost:" + server.getAddress().getPort();
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .decoder(jsonDecoder())
+                .invocationHandlerFactory(circuitBreaker(fallbackFactory))
+                .addCapability(new LastKnownGoodCapability(cache))
+                .target(new Target.HardCodedTarget<>(type, name, url));
+    }
+
+    private Decoder jsonDecoder() {
+        return (response, type) -> objectMapper.readValue(response.body().asInputStream(), objectMapper.constructType(type));
+    }
+
+    // what FeignCircuitBreakerInvocationHandler does around each call, minus the breaker state
+    private static InvocationHandlerFactory circuitBreaker(FallbackFactory<?> fallbackFactory) {
+        return (target, dispatch) -> (proxy, method, args) -> {
+            try {
+                return dispatch.get(method).invoke(args);
+            } catch (Throwable failure) {
+                try {
+                    return method.invoke(fallbackFactory.create(failure), args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+    }
+}
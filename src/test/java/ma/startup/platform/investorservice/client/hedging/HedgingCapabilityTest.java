@@ -0,0 +1,171 @@
+package ma.startup.platform.investorservice.client.hedging;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.RequestLine;
+import feign.Target;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs hedged calls against a local stub server that injects random delays
+ */
+class HedgingCapabilityTest {
+
+    interface StubApi {
+        @RequestLine("GET /startups")
+        String getStartups();
+    }
+
+    private HttpServer server;
+    private volatile IntSupplier delayMillis = () -> 0;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void startStub() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/startups", exchange -> {
+            int delay = delayMillis.getAsInt();
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void hedgesCutTheSlowTail() {
+        // every 10th request hits a "GC pause"
+        AtomicInteger sequence = new AtomicInteger();
+        delayMillis = () -> sequence.incrementAndGet() % 10 == 0 ? 600 : ThreadLocalRandom.current().nextInt(2, 10);
+
+        HedgingProperties properties = properties(0.9, 0.3, 10);
+        try (HedgingCapability capability = new HedgingCapability(properties, meterRegistry)) {
+            StubApi api = client(capability);
+            for (int i = 0; i < 30; i++) {
+                api.getStartups();
+            }
+
+            int slowCalls = 0;
+            for (int i = 0; i < 100; i++) {
+                long start = System.nanoTime();
+                assertEquals("[]", api.getStartups());
+                if (Duration.ofNanos(System.nanoTime() - start).toMillis() >= 500) {
+                    slowCalls++;
+                }
+            }
+
+            assertTrue(slowCalls <= 2, "slow calls with hedging: " + slowCalls);
+            assertTrue(meterRegistry.counter("investor.hedging.hedge.wins").count() > 0);
+        }
+    }
+
+    @Test
+    void hedgesStayWithinBudget() {
+        delayMillis = () -> ThreadLocalRandom.current().nextInt(5, 40);
+
+        HedgingProperties properties = properties(0.5, 0.05, 1);
+        try (HedgingCapability capability = new HedgingCapability(properties, meterRegistry)) {
+            StubApi api = client(capability);
+            int calls = 120;
+            for (int i = 0; i < calls; i++) {
+                api.getStartups();
+            }
+
+            double hedges = meterRegistry.counter("investor.hedging.hedges").count();
+            assertTrue(hedges <= calls * 0.05 + 1, "hedges: " + hedges);
+        }
+    }
+
+    @Test
+    void losingAttemptReleasesItsPooledConnection() throws Exception {
+        AtomicBoolean slowNext = new AtomicBoolean();
+        delayMillis = () -> slowNext.getAndSet(false) ? 5_000 : 5;
+
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create().build();
+        HedgingProperties properties = properties(0.9, 1, 10);
+        try (CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(pool)
+                .addExecInterceptorAfter(HedgeAbortInterceptor.AFTER, HedgeAbortInterceptor.NAME, new HedgeAbortInterceptor())
+                .build();
+             HedgingCapability capability = new HedgingCapability(properties, meterRegistry)) {
+            StubApi api = Feign.builder()
+                    .client(new ApacheHttp5Client(httpClient))
+                    .addCapability(capability)
+                    .target(new Target.HardCodedTarget<>(StubApi.class, "startup-service", url()));
+            for (int i = 0; i < 30; i++) {
+                api.getStartups();
+            }
+
+            double hedges = meterRegistry.counter("investor.hedging.hedges").count();
+            slowNext.set(true);
+            long start = System.nanoTime();
+            assertEquals("[]", api.getStartups());
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1_000);
+            assertEquals(hedges + 1, meterRegistry.counter("investor.hedging.hedges").count());
+
+            // the primary, still waiting for its 5s answer, was aborted: no connection stays leased
+            long deadline = System.nanoTime() + Duration.ofMillis(500).toNanos();
+            while (pool.getTotalStats().getLeased() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, pool.getTotalStats().getLeased());
+        }
+    }
+
+    private HedgingProperties properties(double percentile, double budgetRatio, double maxTokens) {
+        HedgingProperties properties = new HedgingProperties();
+        properties.setEnabled(true);
+        properties.setPercentile(percentile);
+        properties.setBudgetRatio(budgetRatio);
+        properties.setMaxBudgetTokens(maxTokens);
+        properties.setMinDelay(Duration.ofMillis(5));
+        properties.setMinSamples(10);
+        return properties;
+    }
+
+    private StubApi client(HedgingCapability capability) {
+        return Feign.builder()
+                .addCapability(capability)
+                .target(new Target.HardCodedTarget<>(StubApi.class, "startup-service", url()));
+    }
+
+    private String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+}
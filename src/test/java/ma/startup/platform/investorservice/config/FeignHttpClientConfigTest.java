@@ -0,0 +1,38 @@
+package ma.startup.platform.investorservice.config;
+
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.core5.http.message.BasicHttpResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Idle connections are kept for min(server Keep-Alive timeout, configured maximum)
+ */
+class FeignHttpClientConfigTest {
+
+    private final ConnectionKeepAliveStrategy strategy = FeignHttpClientConfig.keepAliveStrategy(Duration.ofSeconds(30));
+
+    @Test
+    void shorterServerTimeoutWins() {
+        assertThat(keepAliveMillis("timeout=5, max=100")).isEqualTo(5_000);
+    }
+
+    @Test
+    void configuredMaximumCapsLongerOrMissingServerTimeouts() {
+        assertThat(keepAliveMillis("timeout=300")).isEqualTo(30_000);
+        assertThat(keepAliveMillis("max=100")).isEqualTo(30_000);
+        assertThat(keepAliveMillis("timeout=soon")).isEqualTo(30_000);
+        assertThat(keepAliveMillis(null)).isEqualTo(30_000);
+    }
+
+    private long keepAliveMillis(String keepAliveHeader) {
+        BasicHttpResponse response = new BasicHttpResponse(200);
+        if (keepAliveHeader != null) {
+            response.addHeader("Keep-Alive", keepAliveHeader);
+        }
+        return strategy.getKeepAliveDuration(response, null).toMilliseconds();
+    }
+}
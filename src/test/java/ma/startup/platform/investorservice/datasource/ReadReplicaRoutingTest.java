@@ -0,0 +1,65 @@
+package ma.startup.platform.investorservice.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The "replica" is the same local database reached through a second pool; the
+ * application_name of each pool tells which one served a transaction.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:postgresql://localhost:5432/startup_platform?ApplicationName=primary",
+        "investor.datasource.replica.jdbc-url=jdbc:postgresql://localhost:5432/startup_platform?ApplicationName=replica",
+        "investor.datasource.replica.username=postgres",
+        "investor.datasource.read-your-writes-window=1h"
+})
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReadYourWritesTracker tracker;
+
+    @AfterEach
+    void tearDown() {
+        tracker.end(false);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertThat(servedBy(true)).isEqualTo("replica");
+        assertThat(servedBy(false)).isEqualTo("primary");
+    }
+
+    @Test
+    void callerReadsItsOwnWritesFromThePrimary() {
+        tracker.begin("Bearer writer", true);
+        assertThat(servedBy(true)).isEqualTo("primary");
+        tracker.end(true);
+
+        tracker.begin("Bearer writer", false);
+        assertThat(servedBy(true)).isEqualTo("primary");
+        tracker.end(false);
+
+        tracker.begin("Bearer reader", false);
+        assertThat(servedBy(true)).isEqualTo("replica");
+    }
+
+    private String servedBy(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class));
+    }
+}
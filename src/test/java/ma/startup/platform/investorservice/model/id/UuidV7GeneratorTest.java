@@ -0,0 +1,52 @@
+package ma.startup.platform.investorservice.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void idsAreVersion7AndStrictlyIncreasing() {
+        long before = System.currentTimeMillis();
+        UUID previous = UuidV7Generator.next();
+
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = UuidV7Generator.next();
+            assertThat(current.version()).isEqualTo(7);
+            assertThat(current.variant()).isEqualTo(2);
+            // unsigned order of the 128 bits == order of the string form == PostgreSQL uuid order
+            assertThat(current.toString()).isGreaterThan(previous.toString());
+            previous = current;
+        }
+        assertThat(previous.getMostSignificantBits() >>> 16).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    void concurrentIdsAreUnique() throws InterruptedException {
+        ConcurrentLinkedQueue<UUID> ids = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(UuidV7Generator.next());
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        List<String> sorted = new ArrayList<>(ids.stream().map(UUID::toString).toList());
+        Collections.sort(sorted);
+        assertThat(sorted).doesNotHaveDuplicates().hasSize(160_000);
+    }
+}
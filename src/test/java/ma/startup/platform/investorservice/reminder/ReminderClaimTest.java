@@ -0,0 +1,116 @@
+package ma.startup.platform.investorservice.reminder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ma.startup.platform.investorservice.enums.MeetingStatus;
+import ma.startup.platform.investorservice.model.Meeting;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import ma.startup.platform.investorservice.service.MeetingChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Two schedulers standing for two instances of the service, sharing one database: each due
+ * reminder is sent once, and changes are applied from the event alone. Rolled back.
+ */
+@SpringBootTest
+@Transactional
+class ReminderClaimTest {
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    private final List<MeetingReminder> sent = new CopyOnWriteArrayList<>();
+
+    @Test
+    void dueReminderIsSentByOneInstanceOnly() throws InterruptedException {
+        Meeting meeting = acceptedMeeting(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusHours(1).plusSeconds(2));
+        ReminderScheduler first = instance();
+        ReminderScheduler second = instance();
+        first.refill();
+        second.refill();
+        assertThat(first.pending()).isEqualTo(1);
+        assertThat(second.pending()).isEqualTo(1);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((first.pending() > 0 || second.pending() > 0) && System.currentTimeMillis() < deadline) {
+            first.fireDue();
+            second.fireDue();
+            Thread.sleep(100);
+        }
+
+        assertThat(sent).extracting(MeetingReminder::meetingId).containsExactly(meeting.getId());
+        assertThat(meetingRepository.claimReminder(meeting.getId(), meeting.getMeetingDate(),
+                meeting.getMeetingDate().minusHours(1))).isZero();
+    }
+
+    @Test
+    void staleOrRepeatedClaimsAreRefused() {
+        Meeting meeting = acceptedMeeting(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(1));
+        LocalDateTime date = meeting.getMeetingDate();
+
+        assertThat(meetingRepository.claimReminder(meeting.getId(), date, date.minusHours(24))).isEqualTo(1);
+        assertThat(meetingRepository.claimReminder(meeting.getId(), date, date.minusHours(24))).isZero();
+        assertThat(meetingRepository.claimReminder(meeting.getId(), date, date.minusHours(1))).isEqualTo(1);
+        assertThat(meetingRepository.claimReminder(meeting.getId(), date.plusHours(1), date)).isZero();
+    }
+
+    @Test
+    void changesApplyFromTheEventWithoutReadingTheMeeting() {
+        MeetingRepository repository = mock(MeetingRepository.class);
+        ReminderScheduler scheduler = new ReminderScheduler(repository, properties(), sink(), new SimpleMeterRegistry());
+        scheduler.refill();
+        clearInvocations(repository);
+        UUID id = UUID.randomUUID();
+        LocalDateTime date = LocalDateTime.now().plusHours(3);
+
+        scheduler.onMeetingChanged(new MeetingChangedEvent(id, UUID.randomUUID(), UUID.randomUUID(), date, MeetingStatus.ACCEPTED));
+        assertThat(scheduler.pending()).isEqualTo(1);
+
+        scheduler.onMeetingChanged(new MeetingChangedEvent(id, UUID.randomUUID(), UUID.randomUUID(), date, MeetingStatus.CANCELLED));
+        assertThat(scheduler.pending()).isZero();
+        verifyNoInteractions(repository);
+    }
+
+    private ReminderScheduler instance() {
+        return new ReminderScheduler(meetingRepository, properties(), sink(), new SimpleMeterRegistry());
+    }
+
+    private static ReminderProperties properties() {
+        ReminderProperties properties = new ReminderProperties();
+        properties.setLeadTimes(List.of(Duration.ofHours(1)));
+        properties.setHorizon(Duration.ofHours(4));
+        return properties;
+    }
+
+    private ObjectProvider<ReminderSink> sink() {
+        ReminderSink sink = sent::add;
+        return new StaticListableBeanFactory(Map.of("sink", sink)).getBeanProvider(ReminderSink.class);
+    }
+
+    private Meeting acceptedMeeting(LocalDateTime date) {
+        Meeting meeting = new Meeting();
+        meeting.setConnectionId(UUID.randomUUID());
+        meeting.setInvestorId(UUID.randomUUID());
+        meeting.setStartupId(UUID.randomUUID());
+        meeting.setMeetingDate(date);
+        meeting.setStatus(MeetingStatus.ACCEPTED);
+        return meetingRepository.saveAndFlush(meeting);
+    }
+}
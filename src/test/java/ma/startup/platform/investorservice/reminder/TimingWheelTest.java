@@ -0,0 +1,60 @@
+package ma.startup.platform.investorservice.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every timeout fires at its own tick, whichever level (or the overflow) it was placed in;
+ * cancelled ones never fire.
+ */
+class TimingWheelTest {
+
+    private static final long START = 1_000_003;
+
+    @Test
+    void firesEachTimeoutAtItsDeadlineAcrossLevels() {
+        // 8^3 = 512 ticks per top revolution: deadlines up to 3000 also go through the overflow
+        TimingWheel<Long> wheel = new TimingWheel<>(8, 3, START);
+        Random random = new Random(42);
+        List<TimingWheel.Timeout<Long>> cancelled = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            long deadline = START + 1 + random.nextInt(3000);
+            TimingWheel.Timeout<Long> timeout = wheel.schedule(deadline, deadline);
+            if (i % 5 == 0) {
+                cancelled.add(timeout);
+            }
+        }
+        cancelled.forEach(wheel::cancel);
+        assertThat(wheel.size()).isEqualTo(4000);
+
+        int fired = 0;
+        for (long tick = START + 1; tick <= START + 3001; tick++) {
+            for (long deadline : wheel.advance(tick)) {
+                assertThat(deadline).isEqualTo(tick);
+                fired++;
+            }
+        }
+        assertThat(fired).isEqualTo(4000);
+        assertThat(wheel.size()).isZero();
+        assertThat(cancelled).noneMatch(TimingWheel.Timeout::isPending);
+    }
+
+    @Test
+    void pastDeadlineFiresOnNextAdvanceAndJumpsFireEverythingDue() {
+        TimingWheel<String> wheel = new TimingWheel<>(8, 3, START);
+        wheel.schedule("late", START - 10);
+        wheel.schedule("soon", START + 5);
+        wheel.schedule("later", START + 700);
+
+        assertThat(wheel.advance(START + 1)).containsExactly("late");
+        assertThat(wheel.advance(START + 600)).containsExactly("soon");
+        assertThat(wheel.cancel(wheel.schedule("cancelled", START + 650))).isTrue();
+        assertThat(wheel.advance(START + 10_000)).containsExactly("later");
+        assertThat(wheel.size()).isZero();
+    }
+}
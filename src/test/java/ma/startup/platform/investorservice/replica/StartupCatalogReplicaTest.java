@@ -0,0 +1,139 @@
+package ma.startup.platform.investorservice.replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ma.startup.platform.investorservice.client.StartupServiceClient;
+import ma.startup.platform.investorservice.dto.FounderMemberDTO;
+import ma.startup.platform.investorservice.dto.MilestoneDTO;
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupCatalogReplicaTest {
+
+    private StubStartupService stub;
+    private StartupCatalogReplica replica;
+
+    @BeforeEach
+    void setUp() {
+        stub = new StubStartupService();
+        StartupReplicaProperties properties = new StartupReplicaProperties();
+        properties.setEnabled(true);
+        replica = new StartupCatalogReplica(stub, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void pullsOnlyChangesAfterTheInitialLoad() {
+        StartupDTO first = stub.add("Alpha", LocalDateTime.now().minusDays(2));
+        replica.sync();
+        assertTrue(replica.isReady());
+        assertEquals("Alpha", replica.getStartupById(first.getId(), "t").getNom());
+
+        StartupDTO second = stub.add("Beta", LocalDateTime.now());
+        replica.sync();
+
+        assertEquals(2, replica.getAllStartups("t").size());
+        assertEquals("Beta", replica.getStartupById(second.getId(), "t").getNom());
+        assertEquals(first.getCreatedAt().minusMinutes(1), stub.lastSince, "incremental pull starts at the watermark");
+        assertEquals(0, stub.liveReads);
+    }
+
+    @Test
+    void unchangedCatalogAnswersNotModified() {
+        stub.add("Alpha", LocalDateTime.now());
+        replica.sync();
+        replica.sync();
+
+        assertEquals(1, stub.notModified);
+        assertEquals(1, replica.getAllStartups("t").size());
+    }
+
+    @Test
+    void fallsBackToLiveReadsUntilLoaded() {
+        stub.add("Alpha", LocalDateTime.now());
+
+        assertFalse(replica.isReady());
+        assertEquals(1, replica.getAllStartups("t").size());
+        assertEquals(1, stub.liveReads);
+    }
+
+    private static class StubStartupService implements StartupServiceClient {
+
+        private final List<StartupDTO> startups = new ArrayList<>();
+        private LocalDateTime lastSince;
+        private int liveReads;
+        private int notModified;
+
+        StartupDTO add(String nom, LocalDateTime createdAt) {
+            StartupDTO startup = new StartupDTO();
+            startup.setId(UUID.randomUUID());
+            startup.setNom(nom);
+            startup.setCreatedAt(createdAt);
+            startups.add(startup);
+            return startup;
+        }
+
+        private String etag() {
+            return "\"" + startups.size() + "\"";
+        }
+
+        @Override
+        public ResponseEntity<List<StartupDTO>> getStartupsChangedSince(String since, String token, String ifNoneMatch, String ifModifiedSince) {
+            lastSince = LocalDateTime.parse(since);
+            if (etag().equals(ifNoneMatch)) {
+                notModified++;
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            List<StartupDTO> changed = startups.stream()
+                    .filter(s -> !s.getCreatedAt().isBefore(lastSince))
+                    .toList();
+            return ResponseEntity.ok().header(HttpHeaders.ETAG, etag()).body(changed);
+        }
+
+        @Override
+        public List<StartupDTO> getAllStartups(String token) {
+            liveReads++;
+            return startups;
+        }
+
+        @Override
+        public StartupDTO getStartupById(UUID id, String token) {
+            liveReads++;
+            return startups.stream().filter(s -> s.getId().equals(id)).findFirst().orElseThrow();
+        }
+
+        @Override
+        public StartupDTO getMyStartup(String token) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<StartupDTO> searchBySecteur(String secteur, String token) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<FounderMemberDTO> getTeamByStartupId(UUID startupId, String token) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<MilestoneDTO> getMilestonesByStartupId(UUID startupId, String token) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public StartupDTO getStartupByUserId(UUID userId, String token) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
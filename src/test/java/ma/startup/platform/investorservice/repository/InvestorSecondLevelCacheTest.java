@@ -0,0 +1,106 @@
+package ma.startup.platform.investorservice.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.dto.UpdateInvestorRequest;
+import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.enums.InvestorType;
+import ma.startup.platform.investorservice.model.Investor;
+import ma.startup.platform.investorservice.security.CurrentActor;
+import ma.startup.platform.investorservice.service.InvestorService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Investor reads served from the second-level / query cache, and invalidated by
+ * updateMyInvestor. Commits for real (the cache is only populated on commit).
+ */
+@SpringBootTest
+class InvestorSecondLevelCacheTest {
+
+    @Autowired
+    private InvestorRepository investorRepository;
+
+    @Autowired
+    private InvestorService investorService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Investor investor;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        investor = new Investor();
+        investor.setUserId(UUID.randomUUID());
+        investor.setNom("Atlas Ventures");
+        investor.setType(InvestorType.VC);
+        investor = investorRepository.save(investor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        investorRepository.deleteById(investor.getId());
+    }
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        loadByUserId();
+
+        statistics.clear();
+        Investor cached = loadByUserId();
+        Investor byId = transactionTemplate.execute(status -> investorRepository.findById(investor.getId()).orElseThrow());
+
+        assertThat(cached.getNom()).isEqualTo("Atlas Ventures");
+        assertThat(byId.getNom()).isEqualTo("Atlas Ventures");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("investors").getHitCount()).isPositive();
+    }
+
+    @Test
+    void updateMyInvestorInvalidatesCachedReads() {
+        loadByUserId();
+
+        UpdateInvestorRequest request = new UpdateInvestorRequest();
+        request.setNom("Atlas Capital");
+        investorService.updateMyInvestor(request, actorFor(investor.getUserId()));
+
+        statistics.clear();
+        Investor reloaded = loadByUserId();
+
+        assertThat(reloaded.getNom()).isEqualTo("Atlas Capital");
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(1);
+    }
+
+    private Investor loadByUserId() {
+        return transactionTemplate.execute(status -> investorRepository.findByUserId(investor.getUserId()).orElseThrow());
+    }
+
+    private CurrentActor actorFor(UUID userId) {
+        UserDTO user = new UserDTO();
+        user.setId(userId);
+        user.setRole(CurrentActor.ROLE_INVESTOR);
+        AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+        when(authServiceClient.getCurrentUser("Bearer t")).thenReturn(user);
+        return new CurrentActor("Bearer t", authServiceClient, null, investorRepository);
+    }
+}
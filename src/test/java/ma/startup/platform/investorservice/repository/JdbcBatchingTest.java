@@ -0,0 +1,175 @@
+package ma.startup.platform.investorservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.client.StartupServiceClient;
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import ma.startup.platform.investorservice.dto.StartupMatchResponse;
+import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.enums.ConnectionRequest;
+import ma.startup.platform.investorservice.enums.ConnectionStatus;
+import ma.startup.platform.investorservice.enums.InvestorType;
+import ma.startup.platform.investorservice.model.Investor;
+import ma.startup.platform.investorservice.replica.StartupCatalogReplica;
+import ma.startup.platform.investorservice.security.CurrentActor;
+import ma.startup.platform.investorservice.service.MatchingService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts prepared statements on the bulk write paths: with batching, all rows of a table
+ * go through one PreparedStatement (executeBatch every 50 rows); without it, one per row.
+ * Rolled back.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class JdbcBatchingTest {
+
+    private static final int ROWS = 120;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ConnectionRequestRepository connectionRequestRepository;
+
+    @Autowired
+    private InvestorRepository investorRepository;
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @MockitoBean
+    private StartupCatalogReplica startupCatalogReplica;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void connectionRequestsAreInsertedAndUpdatedInBatches() {
+        List<ConnectionRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            ConnectionRequest request = new ConnectionRequest();
+            request.setStartupId(UUID.randomUUID());
+            request.setInvestorId(UUID.randomUUID());
+            requests.add(request);
+        }
+        connectionRequestRepository.saveAll(requests);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        requests.forEach(request -> request.setStatut(ConnectionStatus.ACCEPTED));
+        entityManager.flush();
+
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void matchingResultsAreWrittenInBatches() {
+        List<Investor> investors = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Investor investor = new Investor();
+            investor.setUserId(UUID.randomUUID());
+            investor.setNom("Investor " + i);
+            investor.setType(InvestorType.VC);
+            investor.setSecteursInterets(i % 2 == 0 ? "fintech" : "agritech");
+            investors.add(investor);
+        }
+        investorRepository.saveAll(investors);
+        entityManager.flush();
+        long investorCount = investorRepository.count();
+
+        StartupDTO startup = new StartupDTO();
+        startup.setId(UUID.randomUUID());
+        startup.setSecteur("fintech");
+        StartupServiceClient startupServiceClient = mock(StartupServiceClient.class);
+        when(startupServiceClient.getMyStartup("Bearer t")).thenReturn(startup);
+        CurrentActor actor = new CurrentActor("Bearer t", null, startupServiceClient, investorRepository);
+
+        statistics.clear();
+        matchingService.getMatchingInvestorsForMe(actor);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(investorCount);
+        // all investors + existing results of the startup + one batched insert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        statistics.clear();
+        matchingService.getMatchingInvestorsForMe(actor);
+        entityManager.flush();
+
+        // recalculation only reads (unchanged scores): no per-investor lookups, no writes
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void investorMatchingResultsAreWrittenInBatches() {
+        Investor investor = new Investor();
+        investor.setUserId(UUID.randomUUID());
+        investor.setNom("Investor");
+        investor.setType(InvestorType.VC);
+        investor.setSecteursInterets("fintech");
+        investorRepository.saveAndFlush(investor);
+
+        List<StartupDTO> startups = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            StartupDTO startup = new StartupDTO();
+            startup.setId(UUID.randomUUID());
+            startup.setSecteur(i % 2 == 0 ? "fintech" : "agritech");
+            startups.add(startup);
+        }
+        when(startupCatalogReplica.getAllStartups("Bearer t")).thenReturn(startups);
+        UserDTO user = new UserDTO();
+        user.setId(investor.getUserId());
+        user.setRole(CurrentActor.ROLE_INVESTOR);
+        AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+        when(authServiceClient.getCurrentUser("Bearer t")).thenReturn(user);
+
+        statistics.clear();
+        List<StartupMatchResponse> matches = matchingService.getMatchingStartupsForMe(
+                new CurrentActor("Bearer t", authServiceClient, null, investorRepository));
+        entityManager.flush();
+
+        // only the fintech half scores >= 50
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS / 2);
+        assertThat(matches).hasSize(20).allSatisfy(match -> assertThat(match.getMatchId()).isNotNull());
+        // investor by user + existing results of the investor + one batched insert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        statistics.clear();
+        matchingService.getMatchingStartupsForMe(new CurrentActor("Bearer t", authServiceClient, null, investorRepository));
+        entityManager.flush();
+
+        // recalculation only reads (unchanged scores): no per-startup lookups, no writes
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
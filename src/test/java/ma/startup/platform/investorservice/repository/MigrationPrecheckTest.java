@@ -0,0 +1,114 @@
+package ma.startup.platform.investorservice.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Re-runs the migrations that add constraints on existing rows against data breaking them:
+ * they must stop and name the offending rows, never change them. The constraint is dropped
+ * first so the data can be seeded; everything is rolled back.
+ */
+@SpringBootTest
+@Transactional
+class MigrationPrecheckTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void searchPath() {
+        jdbcTemplate.execute("SET LOCAL search_path TO investor_schema");
+    }
+
+    @Test
+    void duplicatePendingRequestsStopV6() {
+        jdbcTemplate.execute("DROP INDEX uq_connection_requests_pending");
+        jdbcTemplate.execute("""
+                INSERT INTO connection_requests (id, startup_id, investor_id, statut, created_at)
+                SELECT ('00000000-0000-7000-8000-00000000000' || g)::uuid, md5('v6')::uuid, md5('v6-investor')::uuid,
+                       'PENDING', now() - g * interval '1 day'
+                FROM generate_series(1, 2) g
+                """);
+
+        assertThatThrownBy(() -> jdbcTemplate.execute(migration("V6__pending_unique_indexes.sql")))
+                .hasMessageContaining("Several PENDING connection requests")
+                .hasMessageContaining("00000000-0000-7000-8000-000000000001")
+                .hasMessageContaining("00000000-0000-7000-8000-000000000002");
+    }
+
+    @Test
+    void duplicatePendingMeetingsStopV6() {
+        jdbcTemplate.execute("DROP INDEX uq_meetings_pending_connection");
+        jdbcTemplate.execute("""
+                INSERT INTO meetings (id, connection_id, investor_id, startup_id, meeting_date, status, created_at)
+                SELECT gen_random_uuid(), '00000000-0000-7000-8000-0000000000c6'::uuid, gen_random_uuid(), gen_random_uuid(),
+                       now() + g * interval '1 day', 'PENDING', now()
+                FROM generate_series(1, 2) g
+                """);
+
+        assertThatThrownBy(() -> jdbcTemplate.execute(migration("V6__pending_unique_indexes.sql")))
+                .hasMessageContaining("Several PENDING meetings")
+                .hasMessageContaining("connection 00000000-0000-7000-8000-0000000000c6");
+    }
+
+    @Test
+    void cleanDataPassesV6() {
+        jdbcTemplate.execute(migration("V6__pending_unique_indexes.sql"));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_indexes WHERE indexname = 'uq_connection_requests_pending'", Long.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void overlappingOpenMeetingsStopV7() {
+        dropOverlapConstraints();
+        jdbcTemplate.execute("""
+                INSERT INTO meetings (id, connection_id, investor_id, startup_id, meeting_date, status, created_at)
+                VALUES ('00000000-0000-7000-8000-0000000000a1', gen_random_uuid(), '00000000-0000-7000-8000-0000000000f7',
+                        gen_random_uuid(), TIMESTAMP '2199-01-01 10:00', 'ACCEPTED', now()),
+                       ('00000000-0000-7000-8000-0000000000a2', gen_random_uuid(), '00000000-0000-7000-8000-0000000000f7',
+                        gen_random_uuid(), TIMESTAMP '2199-01-01 10:30', 'PENDING', now())
+                """);
+
+        assertThatThrownBy(() -> jdbcTemplate.execute(migration("V7__meeting_overlap_constraints.sql")))
+                .hasMessageContaining("Overlapping open meetings")
+                .hasMessageContaining("investor 00000000-0000-7000-8000-0000000000f7: "
+                        + "00000000-0000-7000-8000-0000000000a1 / 00000000-0000-7000-8000-0000000000a2");
+    }
+
+    @Test
+    void cleanDataPassesV7() {
+        dropOverlapConstraints();
+
+        jdbcTemplate.execute(migration("V7__meeting_overlap_constraints.sql"));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_constraint WHERE conname LIKE 'ex_meetings_%_overlap'", Long.class))
+                .isEqualTo(2);
+    }
+
+    private void dropOverlapConstraints() {
+        jdbcTemplate.execute("ALTER TABLE meetings DROP CONSTRAINT ex_meetings_investor_overlap");
+        jdbcTemplate.execute("ALTER TABLE meetings DROP CONSTRAINT ex_meetings_startup_overlap");
+    }
+
+    private static String migration(String name) {
+        try {
+            return new ClassPathResource("db/migration/" + name).getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
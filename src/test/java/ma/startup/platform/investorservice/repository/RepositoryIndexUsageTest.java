@@ -0,0 +1,110 @@
+package ma.startup.platform.investorservice.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAINs the SQL behind each repository query on a seeded dataset and fails if
+ * any of them falls back to a sequential scan. Seed rows are rolled back.
+ */
+@SpringBootTest
+@Transactional
+class RepositoryIndexUsageTest {
+
+    private static final String ID = "md5('7')::uuid";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("SET LOCAL search_path TO investor_schema");
+        jdbcTemplate.execute("""
+                INSERT INTO investors (id, user_id, nom, type, localisation, created_at)
+                SELECT gen_random_uuid(), md5(g::text)::uuid, 'Investor ' || g,
+                       (ARRAY['BUSINESS_ANGEL','VC','FONDS'])[g % 3 + 1], 'Ville ' || (g % 100), now() - g * interval '1 second'
+                FROM generate_series(1, 5000) g
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO connection_requests (id, startup_id, investor_id, statut, created_at)
+                SELECT gen_random_uuid(), md5((g % 500)::text)::uuid, md5((g % 499)::text)::uuid,
+                       (ARRAY['PENDING','ACCEPTED','REJECTED'])[g % 3 + 1], now() - g * interval '1 minute'
+                FROM generate_series(1, 5000) g
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO meetings (id, connection_id, investor_id, startup_id, meeting_date, status, created_at)
+                SELECT gen_random_uuid(), md5((g % 1250)::text)::uuid, md5((g % 499)::text)::uuid,
+                       md5((g % 500)::text)::uuid, now() + (g % 90) * interval '1 day' + g * interval '1 hour',
+                       (ARRAY['PENDING','ACCEPTED','REJECTED','COMPLETED'])[(g / 1250) % 4 + 1], now()
+                FROM generate_series(1, 5000) g
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO matching_results (id, startup_id, investor_id, score, created_at, is_viewed)
+                SELECT gen_random_uuid(), md5((g % 500)::text)::uuid, md5((g % 499)::text)::uuid,
+                       g % 100, now(), false
+                FROM generate_series(1, 5000) g
+                """);
+        jdbcTemplate.execute("ANALYZE investors, connection_requests, meetings, matching_results");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // InvestorRepository
+            "SELECT * FROM investors WHERE user_id = " + ID,
+            "SELECT * FROM investors WHERE localisation = 'Ville 7'",
+            "SELECT * FROM investors WHERE (created_at, id) < (now() - interval '1 hour', " + ID + ") "
+                    + "ORDER BY created_at DESC, id DESC LIMIT 21",
+            // ConnectionRequestRepository
+            "SELECT * FROM connection_requests WHERE startup_id = " + ID + " ORDER BY created_at DESC",
+            "SELECT * FROM connection_requests WHERE investor_id = " + ID + " ORDER BY created_at DESC",
+            "SELECT * FROM connection_requests WHERE startup_id = " + ID + " AND statut = 'ACCEPTED'",
+            "SELECT * FROM connection_requests WHERE investor_id = " + ID + " AND statut = 'ACCEPTED'",
+            "SELECT * FROM connection_requests WHERE startup_id = " + ID + " AND investor_id = " + ID
+                    + " AND statut = 'PENDING'",
+            // MeetingRepository
+            "SELECT * FROM meetings WHERE investor_id = " + ID + " ORDER BY meeting_date DESC",
+            "SELECT * FROM meetings WHERE startup_id = " + ID + " ORDER BY meeting_date DESC",
+            "SELECT * FROM meetings WHERE investor_id = " + ID + " AND status = 'ACCEPTED'",
+            "SELECT * FROM meetings WHERE startup_id = " + ID + " AND status = 'ACCEPTED'",
+            "SELECT * FROM meetings WHERE connection_id = " + ID,
+            "SELECT * FROM meetings WHERE investor_id = " + ID
+                    + " AND meeting_date >= now() AND status = 'ACCEPTED' ORDER BY meeting_date",
+            "SELECT * FROM meetings WHERE startup_id = " + ID
+                    + " AND meeting_date >= now() AND status = 'ACCEPTED' ORDER BY meeting_date",
+            "SELECT count(*) > 0 FROM meetings WHERE connection_id = " + ID + " AND status = 'ACCEPTED'",
+            // keyset inbox pages
+            "SELECT * FROM connection_requests WHERE investor_id = " + ID + " AND statut IN ('PENDING') "
+                    + "AND (created_at, id) < (now(), " + ID + ") ORDER BY created_at DESC, id DESC LIMIT 21",
+            "SELECT * FROM connection_requests WHERE startup_id = " + ID + " AND statut IN ('PENDING', 'ACCEPTED') "
+                    + "AND (created_at, id) < (now(), " + ID + ") ORDER BY created_at DESC, id DESC LIMIT 21",
+            "SELECT * FROM meetings WHERE startup_id = " + ID + " AND status IN ('PENDING', 'ACCEPTED') "
+                    + "AND (meeting_date, id) < (now(), " + ID + ") ORDER BY meeting_date DESC, id DESC LIMIT 21",
+            "SELECT * FROM meetings WHERE investor_id = " + ID + " AND meeting_date >= now() AND status = 'ACCEPTED' "
+                    + "AND (meeting_date, id) > (now(), " + ID + ") ORDER BY meeting_date, id LIMIT 21",
+            // reminder refill
+            "SELECT * FROM meetings WHERE status = 'ACCEPTED' AND (meeting_date, id) > (now(), " + ID + ") "
+                    + "AND meeting_date <= now() + interval '2 days' ORDER BY meeting_date, id LIMIT 1000",
+            // meeting auto-completion batch
+            "SELECT id FROM meetings WHERE status = 'ACCEPTED' AND meeting_date < now() "
+                    + "AND meeting_date + duration_minutes * interval '1 minute' <= now() ORDER BY meeting_date LIMIT 500",
+            // MatchingResultRepository
+            "SELECT * FROM matching_results WHERE startup_id = " + ID + " ORDER BY score DESC",
+            "SELECT * FROM matching_results WHERE investor_id = " + ID + " ORDER BY score DESC",
+            "SELECT * FROM matching_results WHERE startup_id = " + ID + " AND investor_id = " + ID,
+            "SELECT * FROM matching_results WHERE startup_id = " + ID + " AND score >= 50 ORDER BY score DESC"
+    })
+    void queryUsesAnIndex(String sql) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+
+        assertThat(plan).as(String.join("\n", plan)).noneMatch(line -> line.contains("Seq Scan"));
+    }
+}
@@ -0,0 +1,193 @@
+package ma.startup.platform.investorservice.security;
+
+import com.jayway.jsonpath.JsonPath;
+import feign.FeignException;
+import feign.Request;
+import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.client.StartupServiceClient;
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.enums.ConnectionRequest;
+import ma.startup.platform.investorservice.repository.ConnectionRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Controllers through CurrentActorArgumentResolver, with auth-service and startup-service
+ * mocked: the token is checked before any service code (400 / 401 / 503), then the role and
+ * ownership checks of the services apply as with the Authorization header. The calendar feed
+ * URL takes a feed token, never the session token. Rolled back.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class CurrentActorResolutionTest {
+
+    private static final String TOKEN = "Bearer t";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConnectionRequestRepository connectionRequestRepository;
+
+    @MockitoBean
+    private AuthServiceClient authServiceClient;
+
+    @MockitoBean
+    private StartupServiceClient startupServiceClient;
+
+    @Test
+    void missingAuthorizationHeaderIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/connections/sent"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(authServiceClient, startupServiceClient);
+    }
+
+    @Test
+    void refusedTokenIsUnauthorized() throws Exception {
+        when(authServiceClient.getCurrentUser(TOKEN)).thenThrow(feignError(401));
+
+        mockMvc.perform(get("/api/matching/for-me").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(startupServiceClient);
+    }
+
+    @Test
+    void unavailableAuthServiceIsServiceUnavailable() throws Exception {
+        when(authServiceClient.getCurrentUser(TOKEN)).thenThrow(feignError(503));
+
+        mockMvc.perform(get("/api/connections/sent").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isServiceUnavailable());
+        verifyNoInteractions(startupServiceClient);
+    }
+
+    @Test
+    void wrongRoleIsRefusedByTheService() throws Exception {
+        signedInAs(CurrentActor.ROLE_INVESTOR);
+        mockMvc.perform(get("/api/connections/sent").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Erreur: Seules les start-ups peuvent consulter leurs demandes envoyées"));
+
+        signedInAs(CurrentActor.ROLE_STARTUP);
+        mockMvc.perform(get("/api/matching/startups").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Erreur: Seuls les investisseurs peuvent consulter les start-ups matchées"));
+        verify(startupServiceClient, never()).getMyStartup(any());
+    }
+
+    @Test
+    void matchingForMeStillChecksTheTokenAndNeedsAStartup() throws Exception {
+        signedInAs(CurrentActor.ROLE_INVESTOR);
+        when(startupServiceClient.getMyStartup(TOKEN)).thenThrow(feignError(404));
+
+        mockMvc.perform(get("/api/matching/for-me").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Erreur: Profil startup non trouvé pour cet utilisateur"));
+        mockMvc.perform(get("/api/matching/score/{id}", UUID.randomUUID()).header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Erreur: Profil startup non trouvé"));
+        verify(authServiceClient, times(2)).getCurrentUser(TOKEN);
+    }
+
+    @Test
+    void sentRequestsAreTheCallersStartupsOnly() throws Exception {
+        signedInAs(CurrentActor.ROLE_STARTUP);
+        StartupDTO startup = new StartupDTO();
+        startup.setId(UUID.randomUUID());
+        when(startupServiceClient.getMyStartup(TOKEN)).thenReturn(startup);
+        ConnectionRequest mine = request(startup.getId());
+        request(UUID.randomUUID());
+
+        mockMvc.perform(get("/api/connections/sent").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(mine.getId().toString())))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void calendarFeedUrlTakesAFeedTokenNotTheSessionToken() throws Exception {
+        signedInAs(CurrentActor.ROLE_STARTUP);
+        StartupDTO startup = new StartupDTO();
+        startup.setId(UUID.randomUUID());
+        when(startupServiceClient.getMyStartup(TOKEN)).thenReturn(startup);
+
+        String issued = mockMvc.perform(post("/api/meetings/calendar-token").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String feedToken = JsonPath.read(issued, "$.token");
+
+        MvcResult refused = mockMvc.perform(get("/api/meetings/calendar.ics").param("token", "t"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(refused))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Erreur: Flux de calendrier introuvable"));
+        MvcResult feed = mockMvc.perform(get("/api/meetings/calendar.ics").param("token", feedToken))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(feed))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, containsString(startup.getId().toString())))
+                .andExpect(content().string(startsWith("BEGIN:VCALENDAR")));
+        verify(authServiceClient, times(1)).getCurrentUser(any());
+
+        mockMvc.perform(delete("/api/meetings/calendar-token").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/meetings/calendar.ics").param("token", feedToken))
+                .andExpect(status().isNotFound());
+    }
+
+    private void signedInAs(String role) {
+        UserDTO user = new UserDTO();
+        user.setId(UUID.randomUUID());
+        user.setRole(role);
+        when(authServiceClient.getCurrentUser(TOKEN)).thenReturn(user);
+    }
+
+    private ConnectionRequest request(UUID startupId) {
+        ConnectionRequest request = new ConnectionRequest();
+        request.setStartupId(startupId);
+        request.setInvestorId(UUID.randomUUID());
+        return connectionRequestRepository.saveAndFlush(request);
+    }
+
+    private static FeignException feignError(int status) {
+        Request request = Request.create(Request.HttpMethod.GET, "/api", Map.of(), null, StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("call", feign.Response.builder()
+                .status(status)
+                .request(request)
+                .headers(Map.of())
+                .build());
+    }
+}
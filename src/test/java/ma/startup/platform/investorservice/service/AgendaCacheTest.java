@@ -0,0 +1,147 @@
+package ma.startup.platform.investorservice.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.client.StartupServiceClient;
+import ma.startup.platform.investorservice.dto.CursorPage;
+import ma.startup.platform.investorservice.dto.MeetingResponse;
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.enums.MeetingStatus;
+import ma.startup.platform.investorservice.model.Meeting;
+import ma.startup.platform.investorservice.repository.InvestorRepository;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import ma.startup.platform.investorservice.security.CurrentActor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * GET /api/meetings/upcoming pages come from the cached agenda (first 100 meetings) and from
+ * the database past it; a MeetingChangedEvent, or a write seen through the V9 feed version,
+ * drops the agenda. Rolled back.
+ */
+@SpringBootTest
+@Transactional
+class AgendaCacheTest {
+
+    private static final int ROWS = 150;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private InvestorRepository investorRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private AgendaCache agendaCache;
+
+    private final UUID startupId = UUID.randomUUID();
+    private final List<UUID> expected = new ArrayList<>();
+    private CurrentActor actor;
+
+    @BeforeEach
+    void setUp() {
+        // one ACCEPTED meeting a day, plus a pending one that is not on the agenda
+        for (int i = 0; i <= ROWS; i++) {
+            Meeting meeting = new Meeting();
+            meeting.setConnectionId(UUID.randomUUID());
+            meeting.setInvestorId(UUID.randomUUID());
+            meeting.setStartupId(startupId);
+            meeting.setMeetingDate(LocalDateTime.now().plusDays(i + 1));
+            meeting.setStatus(i < ROWS ? MeetingStatus.ACCEPTED : MeetingStatus.PENDING);
+            meetingRepository.save(meeting);
+            if (i < ROWS) {
+                expected.add(meeting.getId());
+            }
+        }
+
+        UserDTO user = new UserDTO();
+        user.setId(UUID.randomUUID());
+        user.setRole(CurrentActor.ROLE_STARTUP);
+        StartupDTO startup = new StartupDTO();
+        startup.setId(startupId);
+        AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+        when(authServiceClient.getCurrentUser("Bearer t")).thenReturn(user);
+        StartupServiceClient startupServiceClient = mock(StartupServiceClient.class);
+        when(startupServiceClient.getMyStartup("Bearer t")).thenReturn(startup);
+        actor = new CurrentActor("Bearer t", authServiceClient, startupServiceClient, investorRepository);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void cursorWalksTheCachedAgendaThenTheDatabase() {
+        Statistics statistics = resetStatistics();
+
+        List<UUID> seen = new ArrayList<>();
+        String after = null;
+        do {
+            CursorPage<MeetingResponse> page = meetingService.getUpcomingMeetings(actor, after, 40);
+            page.getContent().forEach(meeting -> seen.add(meeting.getId()));
+            after = page.getNextCursor();
+        } while (after != null);
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+        // a version lookup per page, the agenda load, then the 3rd and 4th pages (past the first 100 meetings)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(7);
+    }
+
+    @Test
+    void changeDropsTheAgenda() {
+        meetingService.getUpcomingMeetings(actor, null, 20);
+        Statistics statistics = resetStatistics();
+
+        meetingService.getUpcomingMeetings(actor, null, 20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        agendaCache.onMeetingChanged(new MeetingChangedEvent(expected.get(0), UUID.randomUUID(), startupId,
+                LocalDateTime.now(), MeetingStatus.CANCELLED));
+        meetingService.getUpcomingMeetings(actor, null, 20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void writeWithoutEventIsSeenThroughTheFeedVersion() {
+        meetingService.getUpcomingMeetings(actor, null, 20);
+
+        // as if cancelled on another instance: no MeetingChangedEvent here, only the V9 counter moves
+        Meeting cancelled = meetingRepository.findById(expected.get(0)).orElseThrow();
+        cancelled.setStatus(MeetingStatus.CANCELLED);
+        meetingRepository.saveAndFlush(cancelled);
+
+        assertThat(meetingService.getUpcomingMeetings(actor, null, 20).getContent())
+                .extracting(MeetingResponse::getId)
+                .containsExactlyElementsOf(expected.subList(1, 21));
+    }
+
+    private Statistics resetStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
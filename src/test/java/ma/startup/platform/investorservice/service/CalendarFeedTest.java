@@ -0,0 +1,156 @@
+package ma.startup.platform.investorservice.service;
+
+import jakarta.persistence.EntityManager;
+import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.client.StartupServiceClient;
+import ma.startup.platform.investorservice.dto.CalendarTokenResponse;
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.enums.MeetingStatus;
+import ma.startup.platform.investorservice.model.Meeting;
+import ma.startup.platform.investorservice.repository.InvestorRepository;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import ma.startup.platform.investorservice.security.CurrentActor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The .ics feed has one VEVENT per non-rejected meeting, its lines folded at 75 octets, and
+ * its ETag moves with every write to the owner's meetings (V9 triggers). A feed token reads
+ * only its owner's feed until rotated or revoked. Rolled back.
+ */
+@SpringBootTest
+@Transactional
+class CalendarFeedTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private InvestorRepository investorRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    private final UUID startupId = UUID.randomUUID();
+    private final List<Meeting> meetings = new ArrayList<>();
+    private CurrentActor actor;
+
+    @BeforeEach
+    void setUp() {
+        MeetingStatus[] statuses = {MeetingStatus.PENDING, MeetingStatus.ACCEPTED, MeetingStatus.REJECTED, MeetingStatus.CANCELLED};
+        for (int i = 0; i < statuses.length; i++) {
+            Meeting meeting = new Meeting();
+            meeting.setConnectionId(UUID.randomUUID());
+            meeting.setInvestorId(UUID.randomUUID());
+            meeting.setStartupId(startupId);
+            meeting.setMeetingDate(LocalDateTime.now().plusDays(i + 1));
+            meeting.setMeetingPlace("Technopark, Casablanca; salle \"Atlas\"");
+            meeting.setMessage("Présentation du tour de table, ".repeat(5));
+            meeting.setStatus(statuses[i]);
+            meetings.add(meetingRepository.save(meeting));
+        }
+
+        UserDTO user = new UserDTO();
+        user.setId(UUID.randomUUID());
+        user.setRole(CurrentActor.ROLE_STARTUP);
+        StartupDTO startup = new StartupDTO();
+        startup.setId(startupId);
+        AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+        when(authServiceClient.getCurrentUser("Bearer t")).thenReturn(user);
+        StartupServiceClient startupServiceClient = mock(StartupServiceClient.class);
+        when(startupServiceClient.getMyStartup("Bearer t")).thenReturn(startup);
+        actor = new CurrentActor("Bearer t", authServiceClient, startupServiceClient, investorRepository);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void writesOneFoldedEventPerVisibleMeeting() throws IOException {
+        String ics = write(meetingService.getCalendarFeed(actor));
+
+        assertThat(ics).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+        assertThat(ics.split("BEGIN:VEVENT", -1)).hasSize(4);
+        assertThat(ics).contains("UID:" + meetings.get(0).getId() + "@investor-service",
+                "STATUS:TENTATIVE", "STATUS:CONFIRMED", "STATUS:CANCELLED",
+                "LOCATION:Technopark\\, Casablanca\\; salle \"Atlas\"");
+        assertThat(ics).doesNotContain(meetings.get(2).getId().toString());
+        assertThat(Arrays.stream(ics.split("\r\n")))
+                .allMatch(line -> line.getBytes(StandardCharsets.UTF_8).length <= 75);
+        assertThat(ics).contains("\r\nDESCRIPTION:Présentation du tour de table\\, ", "\r\n ");
+    }
+
+    @Test
+    void etagChangesWithTheOwnersMeetingsOnly() throws IOException {
+        CalendarFeed feed = meetingService.getCalendarFeed(actor);
+        assertThat(meetingService.getCalendarFeed(actor).etag()).isEqualTo(feed.etag());
+        assertThat(write(feed)).isEqualTo(write(meetingService.getCalendarFeed(actor)));
+
+        Meeting other = new Meeting();
+        other.setConnectionId(UUID.randomUUID());
+        other.setInvestorId(UUID.randomUUID());
+        other.setStartupId(UUID.randomUUID());
+        other.setMeetingDate(LocalDateTime.now().plusDays(10));
+        meetingRepository.saveAndFlush(other);
+        assertThat(meetingService.getCalendarFeed(actor).etag()).isEqualTo(feed.etag());
+
+        Meeting meeting = meetingRepository.findById(meetings.get(0).getId()).orElseThrow();
+        meeting.setMeetingPlace("En ligne");
+        meetingRepository.saveAndFlush(meeting);
+        CalendarFeed changed = meetingService.getCalendarFeed(actor);
+        assertThat(changed.etag()).isNotEqualTo(feed.etag());
+        assertThat(write(changed)).contains("LOCATION:En ligne");
+    }
+
+    @Test
+    void feedTokenReadsOnlyItsOwnersFeedUntilRotatedOrRevoked() throws IOException {
+        CalendarTokenResponse issued = meetingService.rotateCalendarToken(actor);
+        assertThat(issued.getToken()).matches("[A-Za-z0-9_-]{43}");
+        assertThat(issued.getFeedPath()).isEqualTo("/api/meetings/calendar.ics?token=" + issued.getToken());
+
+        CalendarFeed feed = meetingService.getCalendarFeedByToken(issued.getToken()).orElseThrow();
+        assertThat(feed).isEqualTo(meetingService.getCalendarFeed(actor));
+        assertThat(write(feed)).contains("UID:" + meetings.get(0).getId() + "@investor-service");
+
+        // the session token is not a feed token
+        assertThat(meetingService.getCalendarFeedByToken("t")).isEmpty();
+        assertThat(meetingService.getCalendarFeedByToken("Bearer t")).isEmpty();
+
+        CalendarTokenResponse rotated = meetingService.rotateCalendarToken(actor);
+        assertThat(rotated.getToken()).isNotEqualTo(issued.getToken());
+        assertThat(meetingService.getCalendarFeedByToken(issued.getToken())).isEmpty();
+        assertThat(meetingService.getCalendarFeedByToken(rotated.getToken())).contains(feed);
+
+        meetingService.revokeCalendarToken(actor);
+        assertThat(meetingService.getCalendarFeedByToken(rotated.getToken())).isEmpty();
+        assertThatThrownBy(() -> meetingService.revokeCalendarToken(actor))
+                .hasMessage("Aucun jeton de calendrier actif");
+    }
+
+    private String write(CalendarFeed feed) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        meetingService.writeCalendar(feed, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,223 @@
+package ma.startup.platform.investorservice.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.client.StartupServiceClient;
+import ma.startup.platform.investorservice.dto.BulkActionRequest;
+import ma.startup.platform.investorservice.dto.BulkActionResponse;
+import ma.startup.platform.investorservice.dto.ConnectionResponse;
+import ma.startup.platform.investorservice.dto.MeetingResponse;
+import ma.startup.platform.investorservice.dto.ScheduleMeetingRequest;
+import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.enums.BulkAction;
+import ma.startup.platform.investorservice.enums.BulkOutcome;
+import ma.startup.platform.investorservice.enums.ConnectionRequest;
+import ma.startup.platform.investorservice.enums.ConnectionStatus;
+import ma.startup.platform.investorservice.enums.InvestorType;
+import ma.startup.platform.investorservice.enums.MeetingStatus;
+import ma.startup.platform.investorservice.model.Investor;
+import ma.startup.platform.investorservice.model.Meeting;
+import ma.startup.platform.investorservice.repository.ConnectionRequestRepository;
+import ma.startup.platform.investorservice.repository.InvestorRepository;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import ma.startup.platform.investorservice.security.CurrentActor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Accept / reject / cancel are a single conditional UPDATE and duplicate PENDING rows are
+ * refused by unique indexes; the error messages of the refused writes are unchanged. Rolled back.
+ */
+@SpringBootTest
+@Transactional
+class ConditionalTransitionTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private InvestorRepository investorRepository;
+
+    @Autowired
+    private ConnectionRequestRepository connectionRequestRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private ConnectionService connectionService;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    private Investor investor;
+    private CurrentActor actor;
+    private int meetings;
+
+    @BeforeEach
+    void setUp() {
+        investor = new Investor();
+        investor.setUserId(UUID.randomUUID());
+        investor.setNom("Investor");
+        investor.setType(InvestorType.VC);
+        investorRepository.save(investor);
+
+        UserDTO user = new UserDTO();
+        user.setId(investor.getUserId());
+        user.setRole(CurrentActor.ROLE_INVESTOR);
+        AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+        when(authServiceClient.getCurrentUser("Bearer t")).thenReturn(user);
+        actor = new CurrentActor("Bearer t", authServiceClient, mock(StartupServiceClient.class), investorRepository);
+        actor.getInvestor();
+    }
+
+    @Test
+    void acceptIsOneStatementAndOnlyOnce() {
+        ConnectionRequest request = pendingRequest(investor.getId());
+        Statistics statistics = flushAndResetStatistics();
+
+        ConnectionResponse accepted = connectionService.acceptConnection(request.getId(), actor);
+
+        assertThat(accepted.getStatut()).isEqualTo(ConnectionStatus.ACCEPTED);
+        assertThat(accepted.getRespondedAt()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThatThrownBy(() -> connectionService.rejectConnection(request.getId(), actor))
+                .hasMessage("Cette demande a déjà été traitée");
+    }
+
+    @Test
+    void refusedTransitionsKeepTheirMessages() {
+        ConnectionRequest someoneElses = pendingRequest(UUID.randomUUID());
+        flushAndResetStatistics();
+
+        assertThatThrownBy(() -> connectionService.acceptConnection(someoneElses.getId(), actor))
+                .hasMessage("Cette demande ne vous appartient pas");
+        assertThatThrownBy(() -> connectionService.acceptConnection(UUID.randomUUID(), actor))
+                .hasMessage("Demande de connexion non trouvée");
+        assertThat(connectionRequestRepository.findById(someoneElses.getId()).orElseThrow().getStatut())
+                .isEqualTo(ConnectionStatus.PENDING);
+    }
+
+    @Test
+    void cancelOnlyFromPendingOrAccepted() {
+        Meeting meeting = new Meeting();
+        meeting.setConnectionId(UUID.randomUUID());
+        meeting.setInvestorId(investor.getId());
+        meeting.setStartupId(UUID.randomUUID());
+        meeting.setMeetingDate(LocalDateTime.now().plusDays(3));
+        meeting.setStatus(MeetingStatus.ACCEPTED);
+        meetingRepository.save(meeting);
+        flushAndResetStatistics();
+
+        MeetingResponse cancelled = meetingService.cancelMeeting(meeting.getId(), actor);
+
+        assertThat(cancelled.getStatut()).isEqualTo(MeetingStatus.CANCELLED);
+        assertThatThrownBy(() -> meetingService.cancelMeeting(meeting.getId(), actor))
+                .hasMessage("Cette réunion ne peut pas être annulée");
+    }
+
+    @Test
+    void bulkAcceptIsOneUpdateWithPerIdOutcomes() {
+        ConnectionRequest first = pendingRequest(investor.getId());
+        ConnectionRequest second = pendingRequest(investor.getId());
+        ConnectionRequest answered = pendingRequest(investor.getId());
+        answered.setStatut(ConnectionStatus.REJECTED);
+        ConnectionRequest someoneElses = pendingRequest(UUID.randomUUID());
+        UUID missing = UUID.randomUUID();
+        Statistics statistics = flushAndResetStatistics();
+
+        BulkActionResponse response = connectionService.bulkRespond(new BulkActionRequest(
+                List.of(first.getId(), second.getId(), answered.getId(), someoneElses.getId(), missing, first.getId()),
+                BulkAction.ACCEPT), actor);
+
+        assertThat(response.getApplied()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BulkActionResponse.Result::getOutcome).containsExactly(
+                BulkOutcome.APPLIED, BulkOutcome.APPLIED, BulkOutcome.ALREADY_PROCESSED,
+                BulkOutcome.NOT_YOURS, BulkOutcome.NOT_FOUND);
+        // the UPDATE, then one read for the refused ids
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(connectionRequestRepository.findById(second.getId()).orElseThrow().getStatut())
+                .isEqualTo(ConnectionStatus.ACCEPTED);
+    }
+
+    @Test
+    void bulkCancelOnlyTouchesTheInvestorsOpenMeetings() {
+        Meeting accepted = meeting(investor.getId(), MeetingStatus.ACCEPTED);
+        Meeting pending = meeting(investor.getId(), MeetingStatus.PENDING);
+        Meeting completed = meeting(investor.getId(), MeetingStatus.COMPLETED);
+        Meeting someoneElses = meeting(UUID.randomUUID(), MeetingStatus.PENDING);
+        flushAndResetStatistics();
+
+        BulkActionResponse response = meetingService.bulkAction(new BulkActionRequest(
+                List.of(accepted.getId(), pending.getId(), completed.getId(), someoneElses.getId()),
+                BulkAction.CANCEL), actor);
+
+        assertThat(response.getApplied()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BulkActionResponse.Result::getOutcome).containsExactly(
+                BulkOutcome.APPLIED, BulkOutcome.APPLIED, BulkOutcome.ALREADY_PROCESSED, BulkOutcome.NOT_YOURS);
+        assertThatThrownBy(() -> meetingService.bulkAction(
+                new BulkActionRequest(List.of(pending.getId()), BulkAction.ACCEPT), actor))
+                .hasMessage("Seules les start-ups peuvent accepter ou rejeter des réunions");
+    }
+
+    @Test
+    void secondPendingMeetingIsRefusedByTheUniqueIndex() {
+        ConnectionRequest connection = pendingRequest(investor.getId());
+        connection.setStatut(ConnectionStatus.ACCEPTED);
+        flushAndResetStatistics();
+
+        ScheduleMeetingRequest request = new ScheduleMeetingRequest();
+        request.setConnectionId(connection.getId());
+        request.setMeetingDate(LocalDateTime.now().plusDays(7));
+        request.setMeetingPlace("Casablanca");
+        meetingService.scheduleMeeting(request, actor);
+
+        assertThatThrownBy(() -> meetingService.scheduleMeeting(request, actor))
+                .hasMessage("Une réunion est déjà en attente pour cette connexion");
+    }
+
+    private Meeting meeting(UUID investorId, MeetingStatus status) {
+        Meeting meeting = new Meeting();
+        meeting.setConnectionId(UUID.randomUUID());
+        meeting.setInvestorId(investorId);
+        meeting.setStartupId(UUID.randomUUID());
+        // one day apart: open meetings of one investor may not overlap
+        meeting.setMeetingDate(LocalDateTime.now().plusDays(3 + meetings++));
+        meeting.setStatus(status);
+        return meetingRepository.save(meeting);
+    }
+
+    private ConnectionRequest pendingRequest(UUID investorId) {
+        ConnectionRequest request = new ConnectionRequest();
+        request.setStartupId(UUID.randomUUID());
+        request.setInvestorId(investorId);
+        return connectionRequestRepository.save(request);
+    }
+
+    private Statistics flushAndResetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,195 @@
+package ma.startup.platform.investorservice.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.client.StartupServiceClient;
+import ma.startup.platform.investorservice.dto.ConnectionResponse;
+import ma.startup.platform.investorservice.dto.CursorPage;
+import ma.startup.platform.investorservice.dto.MeetingResponse;
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.enums.ConnectionRequest;
+import ma.startup.platform.investorservice.enums.ConnectionStatus;
+import ma.startup.platform.investorservice.enums.InvestorType;
+import ma.startup.platform.investorservice.model.Investor;
+import ma.startup.platform.investorservice.model.Meeting;
+import ma.startup.platform.investorservice.repository.ConnectionRequestRepository;
+import ma.startup.platform.investorservice.repository.InvestorRepository;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import ma.startup.platform.investorservice.security.CurrentActor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Investor enrichment of the startup's lists must not issue one query per row. Rolled back.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ListEnrichmentQueryCountTest {
+
+    private static final int ROWS = 200;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private InvestorRepository investorRepository;
+
+    @Autowired
+    private ConnectionRequestRepository connectionRequestRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private ConnectionService connectionService;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    private final UUID startupId = UUID.randomUUID();
+    private CurrentActor actor;
+    private List<Investor> investors;
+
+    @BeforeEach
+    void setUp() {
+        investors = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Investor investor = new Investor();
+            investor.setUserId(UUID.randomUUID());
+            investor.setNom("Investor " + i);
+            investor.setType(InvestorType.VC);
+            investors.add(investor);
+        }
+        investorRepository.saveAll(investors);
+
+        UserDTO user = new UserDTO();
+        user.setId(UUID.randomUUID());
+        user.setRole(CurrentActor.ROLE_STARTUP);
+        StartupDTO startup = new StartupDTO();
+        startup.setId(startupId);
+        AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+        when(authServiceClient.getCurrentUser("Bearer t")).thenReturn(user);
+        StartupServiceClient startupServiceClient = mock(StartupServiceClient.class);
+        when(startupServiceClient.getMyStartup("Bearer t")).thenReturn(startup);
+        actor = new CurrentActor("Bearer t", authServiceClient, startupServiceClient, investorRepository);
+    }
+
+    @Test
+    void sentRequestsLoadInvestorsInOneQuery() {
+        for (int i = 0; i < ROWS; i++) {
+            ConnectionRequest request = new ConnectionRequest();
+            request.setStartupId(startupId);
+            request.setInvestorId(investors.get(i % investors.size()).getId());
+            request.setStatut(ConnectionStatus.ACCEPTED);
+            connectionRequestRepository.save(request);
+        }
+        Statistics statistics = flushAndResetStatistics();
+
+        CursorPage<ConnectionResponse> page =
+                connectionService.getSentRequests(actor, null, null, KeysetCursor.MAX_PAGE_SIZE);
+
+        assertThat(page.getContent()).hasSize(KeysetCursor.MAX_PAGE_SIZE)
+                .allSatisfy(r -> assertThat(r.getInvestor()).isNotNull());
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void sentRequestsCursorWalksEveryRowOnce() {
+        for (int i = 0; i < ROWS; i++) {
+            ConnectionRequest request = new ConnectionRequest();
+            request.setStartupId(startupId);
+            request.setInvestorId(investors.get(i % investors.size()).getId());
+            request.setStatut(i % 2 == 0 ? ConnectionStatus.REJECTED : ConnectionStatus.ACCEPTED);
+            connectionRequestRepository.save(request);
+        }
+        flushAndResetStatistics();
+
+        Set<UUID> seen = new HashSet<>();
+        String after = null;
+        int pages = 0;
+        do {
+            CursorPage<ConnectionResponse> page =
+                    connectionService.getSentRequests(actor, List.of(ConnectionStatus.REJECTED), after, 30);
+            page.getContent().forEach(r -> {
+                assertThat(r.getStatut()).isEqualTo(ConnectionStatus.REJECTED);
+                assertThat(seen.add(r.getId())).isTrue();
+            });
+            after = page.getNextCursor();
+            pages++;
+        } while (after != null);
+
+        assertThat(seen).hasSize(ROWS / 2);
+        assertThat(pages).isEqualTo(4);
+    }
+
+    @Test
+    void sentRequestsWithoutCursorAreTheFirstPage() {
+        for (int i = 0; i < ROWS; i++) {
+            ConnectionRequest request = new ConnectionRequest();
+            request.setStartupId(startupId);
+            request.setInvestorId(investors.get(i % investors.size()).getId());
+            request.setStatut(ConnectionStatus.REJECTED);
+            connectionRequestRepository.save(request);
+        }
+        Statistics statistics = flushAndResetStatistics();
+
+        CursorPage<ConnectionResponse> page = connectionService.getSentRequests(actor, null, null, 20);
+
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThatThrownBy(() -> connectionService.getSentRequests(actor, null, null, KeysetCursor.MAX_PAGE_SIZE + 1))
+                .hasMessage("La taille doit être comprise entre 1 et " + KeysetCursor.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void receivedMeetingsLoadInvestorsInOneQuery() {
+        for (int i = 0; i < ROWS; i++) {
+            Meeting meeting = new Meeting();
+            meeting.setConnectionId(UUID.randomUUID());
+            meeting.setStartupId(startupId);
+            meeting.setInvestorId(investors.get(i % investors.size()).getId());
+            meeting.setMeetingDate(LocalDateTime.now().plusDays(i));
+            meetingRepository.save(meeting);
+        }
+        Statistics statistics = flushAndResetStatistics();
+
+        CursorPage<MeetingResponse> page =
+                meetingService.getReceivedMeetings(actor, null, null, KeysetCursor.MAX_PAGE_SIZE);
+
+        assertThat(page.getContent()).hasSize(KeysetCursor.MAX_PAGE_SIZE)
+                .allSatisfy(r -> assertThat(r.getInvestor()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private Statistics flushAndResetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,185 @@
+package ma.startup.platform.investorservice.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.client.StartupServiceClient;
+import ma.startup.platform.investorservice.dto.AvailabilityResponse;
+import ma.startup.platform.investorservice.dto.ScheduleMeetingRequest;
+import ma.startup.platform.investorservice.dto.SlotSuggestionResponse;
+import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.enums.ConnectionRequest;
+import ma.startup.platform.investorservice.enums.ConnectionStatus;
+import ma.startup.platform.investorservice.enums.InvestorType;
+import ma.startup.platform.investorservice.enums.MeetingStatus;
+import ma.startup.platform.investorservice.model.Investor;
+import ma.startup.platform.investorservice.model.Meeting;
+import ma.startup.platform.investorservice.repository.ConnectionRequestRepository;
+import ma.startup.platform.investorservice.repository.InvestorRepository;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import ma.startup.platform.investorservice.security.CurrentActor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Open meetings of one participant may not overlap (exclusion constraints); availability
+ * checks and slot suggestions are answered from MeetingIntervalIndex. Rolled back.
+ */
+@SpringBootTest
+@Transactional
+class MeetingOverlapTest {
+
+    private static final LocalDateTime TEN_AM = LocalDate.now().plusDays(10).atTime(10, 0);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private InvestorRepository investorRepository;
+
+    @Autowired
+    private ConnectionRequestRepository connectionRequestRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    private Investor investor;
+    private CurrentActor actor;
+
+    @BeforeEach
+    void setUp() {
+        investor = new Investor();
+        investor.setUserId(UUID.randomUUID());
+        investor.setNom("Investor");
+        investor.setType(InvestorType.VC);
+        investorRepository.save(investor);
+
+        UserDTO user = new UserDTO();
+        user.setId(investor.getUserId());
+        user.setRole(CurrentActor.ROLE_INVESTOR);
+        AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+        when(authServiceClient.getCurrentUser("Bearer t")).thenReturn(user);
+        actor = new CurrentActor("Bearer t", authServiceClient, mock(StartupServiceClient.class), investorRepository);
+        actor.getInvestor();
+    }
+
+    @Test
+    void overlappingMeetingIsRefusedButAdjacentOneIsNot() {
+        meeting(investor.getId(), UUID.randomUUID(), TEN_AM, 60);
+        entityManager.flush();
+
+        // [11:00, 11:30) only touches [10:00, 11:00)
+        meetingService.scheduleMeeting(schedule(acceptedConnection(), TEN_AM.plusHours(1), 30), actor);
+
+        assertThatThrownBy(() -> meetingService.scheduleMeeting(
+                schedule(acceptedConnection(), TEN_AM.plusMinutes(45), 30), actor))
+                .hasMessage("L'investisseur a déjà une réunion sur ce créneau");
+    }
+
+    @Test
+    void availabilityListsConflictsOfBothParticipants() {
+        UUID startupId = acceptedConnection().getStartupId();
+        meeting(investor.getId(), UUID.randomUUID(), TEN_AM, 60);
+        meeting(UUID.randomUUID(), startupId, TEN_AM.plusMinutes(90), 60);
+        meeting(investor.getId(), startupId, TEN_AM.plusHours(4), 60).setStatus(MeetingStatus.CANCELLED);
+        entityManager.flush();
+
+        AvailabilityResponse busy = meetingService.checkAvailability(
+                investor.getId(), startupId, TEN_AM.plusMinutes(30), 90, actor);
+
+        assertThat(busy.isAvailable()).isFalse();
+        assertThat(busy.getConflicts()).extracting(AvailabilityResponse.BusySlot::getStart)
+                .containsExactly(TEN_AM, TEN_AM.plusMinutes(90));
+
+        // both timelines are now indexed: the connection check and one version lookup per participant
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        AvailabilityResponse free = meetingService.checkAvailability(
+                investor.getId(), startupId, TEN_AM.plusHours(4), 60, actor);
+
+        assertThat(free.isAvailable()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        // a write without MeetingChangedEvent (another instance) moves the V9 counter: the timeline reloads
+        meeting(investor.getId(), UUID.randomUUID(), TEN_AM.plusHours(4), 30);
+        entityManager.flush();
+        assertThat(meetingService.checkAvailability(
+                investor.getId(), startupId, TEN_AM.plusHours(4), 60, actor).isAvailable()).isFalse();
+    }
+
+    @Test
+    void availabilityIsLimitedToOwnAndConnectedCalendars() {
+        ConnectionRequest pending = acceptedConnection();
+        pending.setStatut(ConnectionStatus.PENDING);
+        entityManager.flush();
+
+        assertThat(meetingService.checkAvailability(investor.getId(), null, TEN_AM, 60, actor).isAvailable()).isTrue();
+        assertThatThrownBy(() -> meetingService.checkAvailability(UUID.randomUUID(), null, TEN_AM, 60, actor))
+                .hasMessage("Vous n'avez pas accès aux disponibilités de cet investisseur");
+        assertThatThrownBy(() -> meetingService.checkAvailability(null, pending.getStartupId(), TEN_AM, 60, actor))
+                .hasMessage("Vous n'avez pas accès aux disponibilités de cette start-up");
+    }
+
+    @Test
+    void suggestedSlotsAvoidBothPartiesMeetings() {
+        ConnectionRequest connection = acceptedConnection();
+        meeting(investor.getId(), UUID.randomUUID(), TEN_AM, 60);
+        meeting(UUID.randomUUID(), connection.getStartupId(), TEN_AM.plusHours(1), 45);
+        entityManager.flush();
+
+        SlotSuggestionResponse response = meetingService.suggestSlots(
+                connection.getId(), TEN_AM.minusHours(3), TEN_AM.plusHours(3), 60, 10, actor);
+
+        // before 09:00 is outside working hours; 10:00-11:45 is taken by one side or the other
+        assertThat(response.getSlots()).extracting(SlotSuggestionResponse.Slot::getStart)
+                .containsExactly(TEN_AM.minusHours(1), TEN_AM.plusMinutes(105));
+    }
+
+    private Meeting meeting(UUID investorId, UUID startupId, LocalDateTime date, int durationMinutes) {
+        Meeting meeting = new Meeting();
+        meeting.setConnectionId(UUID.randomUUID());
+        meeting.setInvestorId(investorId);
+        meeting.setStartupId(startupId);
+        meeting.setMeetingDate(date);
+        meeting.setDurationMinutes(durationMinutes);
+        meeting.setStatus(MeetingStatus.ACCEPTED);
+        return meetingRepository.save(meeting);
+    }
+
+    private ConnectionRequest acceptedConnection() {
+        ConnectionRequest connection = new ConnectionRequest();
+        connection.setStartupId(UUID.randomUUID());
+        connection.setInvestorId(investor.getId());
+        connection.setStatut(ConnectionStatus.ACCEPTED);
+        return connectionRequestRepository.save(connection);
+    }
+
+    private static ScheduleMeetingRequest schedule(ConnectionRequest connection, LocalDateTime date, int durationMinutes) {
+        ScheduleMeetingRequest request = new ScheduleMeetingRequest();
+        request.setConnectionId(connection.getId());
+        request.setMeetingDate(date);
+        request.setDurationMinutes(durationMinutes);
+        request.setMeetingPlace("Casablanca");
+        return request;
+    }
+}